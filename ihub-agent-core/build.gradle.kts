@@ -15,6 +15,11 @@
  */
 description = "IHub代理核心组件"
 
+// JMH 基准测试位于 src/jmh/java，通过 ./gradlew :ihub-agent-core:jmh 运行
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
 dependencies {
     api("net.bytebuddy:byte-buddy")
     api("net.bytebuddy:byte-buddy-agent")
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.openjdk.jmh.annotations.*;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * 切面注册表启动基准测试
+ * <p>
+ * 以代理方式转换数千个类，对比每个增强器单独安装与注册表一次安装的类加载开销。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IHubAspectRegistryBenchmark {
+
+	private static final String TYPE_PREFIX = "pub.ihub.integration.agent.bench.Type";
+
+	@Param({"4000"})
+	public int types;
+
+	@Param({"32"})
+	public int enhancers;
+
+	private String[] classNames;
+	private byte[][] classBytes;
+	private List<ClassFileTransformer> perEnhancer;
+	private List<ClassFileTransformer> registry;
+
+	@Setup
+	public void setUp() {
+		classNames = new String[types];
+		classBytes = new byte[types][];
+		for (int i = 0; i < types; i++) {
+			classNames[i] = (TYPE_PREFIX + i).replace('.', '/');
+			classBytes[i] = new ByteBuddy().subclass(Object.class).name(TYPE_PREFIX + i)
+				.defineMethod("invoke", String.class, Visibility.PUBLIC).intercept(FixedValue.value("ihub"))
+				.make().getBytes();
+		}
+		List<IHubEnhancer> enhancerList = new ArrayList<>(enhancers);
+		for (int i = 0; i < enhancers; i++) {
+			enhancerList.add(new NamedEnhancer(TYPE_PREFIX + i * (types / enhancers)));
+		}
+		perEnhancer = new ArrayList<>(enhancers);
+		for (IHubEnhancer enhancer : enhancerList) {
+			perEnhancer.add(agentBuilder().type(enhancer.enhanceClass()).transform(IHubTransformer.build(enhancer)).makeRaw());
+		}
+		IHubAspectRegistry aspectRegistry = new IHubAspectRegistry();
+		enhancerList.forEach(aspectRegistry::register);
+		registry = List.of(aspectRegistry.apply(agentBuilder()).makeRaw());
+	}
+
+	@Benchmark
+	public int perEnhancerInstall() throws IllegalClassFormatException {
+		return load(perEnhancer);
+	}
+
+	@Benchmark
+	public int registryInstall() throws IllegalClassFormatException {
+		return load(registry);
+	}
+
+	private int load(List<ClassFileTransformer> transformers) throws IllegalClassFormatException {
+		ClassLoader loader = getClass().getClassLoader();
+		int transformed = 0;
+		for (int i = 0; i < classNames.length; i++) {
+			for (ClassFileTransformer transformer : transformers) {
+				if (transformer.transform(loader, classNames[i], null, null, classBytes[i]) != null) {
+					transformed++;
+				}
+			}
+		}
+		return transformed;
+	}
+
+	private static AgentBuilder agentBuilder() {
+		return IHubAgentBuilder.build().with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE);
+	}
+
+	private record NamedEnhancer(String enhanceClassName) implements IHubEnhancer {
+
+		@Override
+		public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+			return IHubTypeMatchers.named(enhanceClassName);
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("invoke");
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import net.bytebuddy.ByteBuddy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+/**
+ * 插件类加载基准测试
+ * <p>
+ * 以新建加载器加载插件 jar 中的全部类，对比按条目索引批量读取与逐类打开 jar URL 流逐字节读取的耗时。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AgentPluginClassLoaderBenchmark {
+
+	private static final String PACKAGE = "pub.ihub.integration.agent.plugin.generated.";
+
+	@Param({"5000"})
+	public int classes;
+
+	private File jar;
+	private String[] classNames;
+
+	@Setup
+	public void setUp() throws IOException {
+		jar = Files.createTempFile("ihub-agent-plugin", ".jar").toFile();
+		jar.deleteOnExit();
+		classNames = new String[classes];
+		try (OutputStream os = Files.newOutputStream(jar.toPath()); JarOutputStream out = new JarOutputStream(os)) {
+			for (int i = 0; i < classes; i++) {
+				classNames[i] = PACKAGE + "Type" + i;
+				out.putNextEntry(new JarEntry(classNames[i].replace('.', '/') + ".class"));
+				out.write(new ByteBuddy().subclass(Object.class).name(classNames[i]).make().getBytes());
+				out.closeEntry();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		jar.delete();
+	}
+
+	@Benchmark
+	public int indexedJar() throws ClassNotFoundException {
+		return loadAll(new AgentPluginClassLoader(getClass().getClassLoader(), List.of(jar)));
+	}
+
+	@Benchmark
+	public int urlStream() throws ClassNotFoundException, IOException {
+		try (UrlStreamClassLoader loader = new UrlStreamClassLoader(getClass().getClassLoader(), jar)) {
+			return loadAll(loader);
+		}
+	}
+
+	private int loadAll(ClassLoader loader) throws ClassNotFoundException {
+		int loaded = 0;
+		for (String className : classNames) {
+			loaded += loader.loadClass(className).getName().length();
+		}
+		return loaded;
+	}
+
+	/**
+	 * 原实现：每个类构建 jar URL 并经 URLConnection 打开新流，逐字节复制
+	 */
+	private static final class UrlStreamClassLoader extends ClassLoader implements AutoCloseable {
+
+		private final File file;
+		private final JarFile jarFile;
+
+		UrlStreamClassLoader(ClassLoader parent, File file) throws IOException {
+			super(parent);
+			this.file = file;
+			this.jarFile = new JarFile(file);
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			String path = name.replace('.', '/').concat(".class");
+			if (jarFile.getJarEntry(path) != null) {
+				try {
+					URL classFileUrl = new URL("jar:file:" + file.getAbsolutePath() + "!/" + path);
+					byte[] data;
+					try (BufferedInputStream is = new BufferedInputStream(classFileUrl.openStream());
+						 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+						int ch;
+						while ((ch = is.read()) != -1) {
+							baos.write(ch);
+						}
+						data = baos.toByteArray();
+					}
+					return defineClass(name, data, 0, data.length);
+				} catch (IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+			}
+			throw new ClassNotFoundException(name);
+		}
+
+		@Override
+		public void close() throws IOException {
+			jarFile.close();
+		}
+
+	}
+
+}
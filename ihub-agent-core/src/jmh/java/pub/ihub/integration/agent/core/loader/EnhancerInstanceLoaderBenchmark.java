@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 代理增强实例加载基准测试
+ * <p>
+ * 多个目标类加载器下重复加载增强实例，对比单线程与多线程的单次加载耗时；加载互不阻塞时耗时不随线程数增长。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EnhancerInstanceLoaderBenchmark {
+
+	private static final String INSTANCE_CLASS = "java.util.ArrayList";
+
+	@Param({"64"})
+	public int loaders;
+
+	private ClassLoader[] classLoaders;
+
+	@Setup
+	public void setUp() {
+		classLoaders = new ClassLoader[loaders];
+		for (int i = 0; i < loaders; i++) {
+			classLoaders[i] = new ClassLoader() {
+			};
+			EnhancerInstanceLoader.load(INSTANCE_CLASS, classLoaders[i]);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Object singleThread(Cursor cursor) {
+		return load(cursor);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object fourThreads(Cursor cursor) {
+		return load(cursor);
+	}
+
+	private Object load(Cursor cursor) {
+		int index = cursor.next++ % classLoaders.length;
+		return EnhancerInstanceLoader.load(INSTANCE_CLASS, classLoaders[index]);
+	}
+
+	/**
+	 * 各线程独立的类加载器游标
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		int next;
+
+		@Setup
+		public void setUp() {
+			next = (int) Thread.currentThread().getId();
+		}
+
+	}
+
+}
@@ -48,4 +48,13 @@ public interface IAspectDefinition {
 	 */
 	String getMethodsEnhancer();
 
+	/**
+	 * 增强顺序，同一方法匹配多个增强器时值越小越先执行
+	 *
+	 * @return 增强顺序
+	 */
+	default int getOrder() {
+		return 0;
+	}
+
 }
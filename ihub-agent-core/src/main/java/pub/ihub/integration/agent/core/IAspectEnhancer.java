@@ -15,8 +15,6 @@
  */
 package pub.ihub.integration.agent.core;
 
-import java.lang.reflect.Method;
-
 /**
  * 切面增强定义
  *
@@ -25,41 +23,88 @@ import java.lang.reflect.Method;
  */
 public interface IAspectEnhancer {
 
+	/**
+	 * 是否读取方法参数
+	 * <p>
+	 * 返回 false 时代理不再为每次调用分配参数数组，回调中的 allArguments 为空数组。
+	 *
+	 * @return 是否读取方法参数
+	 */
+	default boolean requiresArguments() {
+		return true;
+	}
+
 	/**
 	 * 在目标方法执行前调用
 	 *
 	 * @param objInst        目标对象实例
-	 * @param method         目标方法
+	 * @param method         目标方法描述
 	 * @param allArguments   方法参数
 	 * @param argumentsTypes 方法参数类型
-	 * @param result         如果要截断方法，请更改此结果。
+	 * @param context        调用上下文，调用 {@link MethodInvocationContext#skip(Object)} 可截断原方法调用。
 	 * @throws Throwable 如果发生异常，则会中断方法调用。
 	 */
-	void beforeMethod(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object result) throws Throwable;
+	void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) throws Throwable;
 
 	/**
 	 * 在目标方法执行后调用
 	 *
 	 * @param objInst        目标对象实例
-	 * @param method         目标方法
+	 * @param method         目标方法描述
 	 * @param allArguments   方法参数
 	 * @param argumentsTypes 方法参数类型
 	 * @param ret            方法的原始返回值。如果方法触发异常，则可能为 null。
 	 * @return 该方法的实际返回值。
 	 * @throws Throwable 如果发生异常，则会中断方法调用。
 	 */
-	Object afterMethod(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) throws Throwable;
+	Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) throws Throwable;
+
+	/**
+	 * 在目标方法执行后调用，可读取 beforeMethod 中设置的调用附件
+	 * <p>
+	 * 默认委托至不带调用上下文的 afterMethod。
+	 *
+	 * @param objInst        目标对象实例
+	 * @param method         目标方法描述
+	 * @param allArguments   方法参数
+	 * @param argumentsTypes 方法参数类型
+	 * @param ret            方法的原始返回值。如果方法触发异常，则可能为 null。
+	 * @param context        调用上下文，与本次调用 beforeMethod 收到的为同一实例
+	 * @return 该方法的实际返回值。
+	 * @throws Throwable 如果发生异常，则会中断方法调用。
+	 */
+	default Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret,
+							   MethodInvocationContext context) throws Throwable {
+		return afterMethod(objInst, method, allArguments, argumentsTypes, ret);
+	}
 
 
 	/**
 	 * 在目标方法有异常时调用
 	 *
 	 * @param objInst        目标对象实例
-	 * @param method         目标方法
+	 * @param method         目标方法描述
+	 * @param allArguments   方法参数
+	 * @param argumentsTypes 方法参数类型
+	 * @param t              异常
+	 */
+	void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t);
+
+	/**
+	 * 在目标方法有异常时调用，可读取 beforeMethod 中设置的调用附件
+	 * <p>
+	 * 默认委托至不带调用上下文的 handleMethodException。
+	 *
+	 * @param objInst        目标对象实例
+	 * @param method         目标方法描述
 	 * @param allArguments   方法参数
 	 * @param argumentsTypes 方法参数类型
 	 * @param t              异常
+	 * @param context        调用上下文，与本次调用 beforeMethod 收到的为同一实例
 	 */
-	void handleMethodException(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t);
+	default void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t,
+									   MethodInvocationContext context) {
+		handleMethodException(objInst, method, allArguments, argumentsTypes, t);
+	}
 
 }
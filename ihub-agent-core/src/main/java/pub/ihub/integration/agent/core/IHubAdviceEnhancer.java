@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.asm.Advice;
+
+/**
+ * 内联增强器接口
+ * <p>
+ * 与 {@link IHubEnhancer} 通过 MethodDelegation 委托至 {@link IHubEnhancerProxy} 不同，
+ * 该增强器基于 ByteBuddy {@link Advice} 将进入/退出代码直接内联至目标方法，
+ * 不会产生参数数组装箱、SuperCall 回调实例及反射 Method 的开销。
+ * <p>
+ * 增强逻辑定义在 {@link #getAdviceClass()} 中以 {@link Advice.OnMethodEnter}、{@link Advice.OnMethodExit} 标注的静态方法上，
+ * 方法参数通过 {@link Advice.This}、{@link Advice.Argument}、{@link Advice.Return}、{@link Advice.Thrown} 等注解按需声明，
+ * 仅绑定所声明的参数。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public interface IHubAdviceEnhancer extends IAspectDefinition {
+
+	/**
+	 * 内联增强类，默认为当前实现类
+	 *
+	 * @return 包含 Advice 静态方法的类
+	 */
+	default Class<?> getAdviceClass() {
+		return getClass();
+	}
+
+	/**
+	 * 切面增强类
+	 *
+	 * @return 内联增强类名
+	 */
+	@Override
+	default String getMethodsEnhancer() {
+		return getAdviceClass().getName();
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import pub.ihub.integration.core.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 代理参数
+ * <p>
+ * 解析 -javaagent 参数，格式为 key1=value1,key2=value2；参数未指定的项回退至同名系统属性，数值参数无法解析时告警并使用默认值。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubAgentArguments {
+
+	/**
+	 * 代理参数
+	 */
+	private final Map<String, String> arguments;
+
+	private IHubAgentArguments(Map<String, String> arguments) {
+		this.arguments = arguments;
+	}
+
+	/**
+	 * 解析代理参数
+	 *
+	 * @param agentArgs 代理参数，可为 null
+	 * @return 代理参数
+	 */
+	public static IHubAgentArguments parse(String agentArgs) {
+		if (agentArgs == null || agentArgs.isBlank()) {
+			return new IHubAgentArguments(Collections.emptyMap());
+		}
+		Map<String, String> arguments = new HashMap<>();
+		for (String argument : agentArgs.split(",")) {
+			int index = argument.indexOf('=');
+			if (index > 0) {
+				arguments.put(argument.substring(0, index).trim(), argument.substring(index + 1).trim());
+			}
+		}
+		return new IHubAgentArguments(arguments);
+	}
+
+	/**
+	 * 是否显式指定了以前缀开头的参数，不含系统属性
+	 *
+	 * @param prefix 参数名前缀
+	 * @return 是否指定
+	 */
+	public boolean containsPrefix(String prefix) {
+		for (String key : arguments.keySet()) {
+			if (key.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 获取参数
+	 *
+	 * @param key 参数名
+	 * @return 参数值，未指定时为 null
+	 */
+	public String get(String key) {
+		String value = arguments.get(key);
+		return value == null ? System.getProperty(key) : value;
+	}
+
+	/**
+	 * 获取参数
+	 *
+	 * @param key          参数名
+	 * @param defaultValue 默认值
+	 * @return 参数值
+	 */
+	public String get(String key, String defaultValue) {
+		String value = get(key);
+		return value == null ? defaultValue : value;
+	}
+
+	/**
+	 * 获取整数参数
+	 *
+	 * @param key          参数名
+	 * @param defaultValue 默认值
+	 * @return 参数值，无法解析时为默认值
+	 */
+	public int getInt(String key, int defaultValue) {
+		String value = get(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			Logger.warn("Invalid agent argument %s=%s, use %s.", key, value, defaultValue);
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * 获取长整数参数
+	 *
+	 * @param key          参数名
+	 * @param defaultValue 默认值
+	 * @return 参数值，无法解析时为默认值
+	 */
+	public long getLong(String key, long defaultValue) {
+		String value = get(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			Logger.warn("Invalid agent argument %s=%s, use %s.", key, value, defaultValue);
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * 获取浮点数参数
+	 *
+	 * @param key          参数名
+	 * @param defaultValue 默认值
+	 * @return 参数值，无法解析时为默认值
+	 */
+	public double getDouble(String key, double defaultValue) {
+		String value = get(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			Logger.warn("Invalid agent argument %s=%s, use %s.", key, value, defaultValue);
+			return defaultValue;
+		}
+	}
+
+}
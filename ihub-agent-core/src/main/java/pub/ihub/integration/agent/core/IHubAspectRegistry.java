@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+import pub.ihub.integration.agent.core.cache.CachingClassFileTransformer;
+import pub.ihub.integration.agent.core.cache.TransformedClassCache;
+import pub.ihub.integration.agent.core.matcher.TypeNameIndex;
+import pub.ihub.integration.agent.core.transformer.IHubTransformerWithRegistry;
+import pub.ihub.integration.core.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 切面注册表
+ * <p>
+ * 汇总所有切面定义，以合并后的类匹配器与单一Transformer安装至同一 {@link AgentBuilder}，
+ * 类加载时只经过一次匹配与转换，启动开销不随增强器数量线性增长。
+ * 通过 {@link pub.ihub.integration.agent.core.matcher.IHubTypeMatchers} 定义的类匹配器参与类名索引预筛选。
+ * 启用字节码缓存后，仅由内联增强器增强的类跨JVM重启复用增强结果；代理委托增强依赖类加载后注入的增强器实例，不参与缓存。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubAspectRegistry {
+
+	/**
+	 * 代理委托增强器
+	 */
+	private final List<IHubEnhancer> enhancers = new ArrayList<>();
+	/**
+	 * 内联增强器
+	 */
+	private final List<IHubAdviceEnhancer> adviceEnhancers = new ArrayList<>();
+	/**
+	 * 自定义Transformer
+	 */
+	private final List<Registration> registrations = new ArrayList<>();
+	/**
+	 * 各切面的类匹配器
+	 */
+	private final List<ElementMatcher.Junction<TypeDescription>> typeMatchers = new ArrayList<>();
+	/**
+	 * 内联增强器的类匹配器
+	 */
+	private final List<ElementMatcher.Junction<TypeDescription>> adviceTypeMatchers = new ArrayList<>();
+	/**
+	 * 代理委托增强器及自定义Transformer的类匹配器
+	 */
+	private final List<ElementMatcher.Junction<TypeDescription>> delegationTypeMatchers = new ArrayList<>();
+	/**
+	 * 内联注册作用域，以内联方式应用代理委托增强器时不为 null
+	 */
+	private MethodDescriptorRegistry.Scope inlineScope;
+	/**
+	 * 字节码缓存目录，为 null 时不启用缓存
+	 */
+	private Path cacheDirectory;
+	/**
+	 * 增强类字节码缓存
+	 */
+	private TransformedClassCache cache;
+
+	/**
+	 * 注册切面定义
+	 *
+	 * @param definition 切面定义，须为 {@link IHubEnhancer} 或 {@link IHubAdviceEnhancer}
+	 * @return 切面注册表
+	 */
+	public IHubAspectRegistry register(IAspectDefinition definition) {
+		if (definition instanceof IHubAdviceEnhancer adviceEnhancer) {
+			adviceEnhancers.add(adviceEnhancer);
+			adviceEnhancers.sort(Comparator.comparingInt(IAspectDefinition::getOrder));
+			adviceTypeMatchers.add(definition.enhanceClass());
+		} else if (definition instanceof IHubEnhancer enhancer) {
+			enhancers.add(enhancer);
+			enhancers.sort(Comparator.comparingInt(IAspectDefinition::getOrder));
+			delegationTypeMatchers.add(definition.enhanceClass());
+		} else {
+			throw new IllegalArgumentException("Unsupported aspect definition: " + definition.getClass().getName());
+		}
+		typeMatchers.add(definition.enhanceClass());
+		return this;
+	}
+
+	/**
+	 * 注册自定义Transformer
+	 *
+	 * @param typeMatcher 类匹配器
+	 * @param transformer Transformer
+	 * @return 切面注册表
+	 */
+	public IHubAspectRegistry register(ElementMatcher.Junction<TypeDescription> typeMatcher, IHubTransformer transformer) {
+		registrations.add(new Registration(typeMatcher, transformer));
+		typeMatchers.add(typeMatcher);
+		delegationTypeMatchers.add(typeMatcher);
+		return this;
+	}
+
+	/**
+	 * 以内联方式应用代理委托增强器，增强不改变类结构，可对已加载类重转换
+	 * <p>
+	 * 自定义Transformer不受影响，须自行保证不改变类结构。
+	 *
+	 * @return 切面注册表
+	 */
+	public IHubAspectRegistry enableInlining() {
+		if (inlineScope == null) {
+			inlineScope = new MethodDescriptorRegistry.Scope();
+		}
+		return this;
+	}
+
+	/**
+	 * 释放内联增强注册的方法描述与增强器，须在由当前注册表安装的转换器重置后调用
+	 */
+	public void release() {
+		if (inlineScope != null) {
+			inlineScope.release();
+		}
+	}
+
+	/**
+	 * 启用增强类字节码缓存
+	 *
+	 * @param directory 缓存目录
+	 * @return 切面注册表
+	 */
+	public IHubAspectRegistry enableCache(Path directory) {
+		this.cacheDirectory = directory;
+		return this;
+	}
+
+	/**
+	 * 增强类字节码缓存
+	 *
+	 * @return 字节码缓存，未启用或未安装时为 null
+	 */
+	public TransformedClassCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * 是否未注册任何切面
+	 *
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return enhancers.isEmpty() && adviceEnhancers.isEmpty() && registrations.isEmpty();
+	}
+
+	/**
+	 * 是否所有切面均以内联方式应用且无自定义Transformer，此时以 disableClassFormatChanges 安装的转换器可重置并重转换已加载类
+	 *
+	 * @return 是否可重转换
+	 */
+	public boolean isRetransformable() {
+		return (inlineScope != null || enhancers.isEmpty()) && registrations.isEmpty();
+	}
+
+	/**
+	 * 已注册的切面定义，按代理委托增强器、内联增强器排列
+	 *
+	 * @return 切面定义
+	 */
+	public List<IAspectDefinition> getDefinitions() {
+		List<IAspectDefinition> definitions = new ArrayList<>(enhancers.size() + adviceEnhancers.size());
+		definitions.addAll(enhancers);
+		definitions.addAll(adviceEnhancers);
+		return definitions;
+	}
+
+	/**
+	 * 合并后的类匹配器，先按类名索引预筛选，仅候选类执行完整匹配
+	 *
+	 * @return 类匹配器
+	 */
+	public ElementMatcher.Junction<TypeDescription> typeMatcher() {
+		return TypeNameIndex.of(typeMatchers);
+	}
+
+	/**
+	 * 将所有切面以单一Transformer应用至代理构建器
+	 *
+	 * @param agentBuilder 代理构建器
+	 * @return 代理构建器
+	 */
+	public AgentBuilder.Identified.Extendable apply(AgentBuilder agentBuilder) {
+		if (cacheDirectory != null) {
+			if (adviceEnhancers.isEmpty()) {
+				Logger.warn("Transformed class cache %s unused, only classes enhanced by inline advice enhancers are cached.", cacheDirectory);
+			} else {
+				agentBuilder = withCache(agentBuilder);
+			}
+		}
+		return agentBuilder.type(typeMatcher()).transform(new IHubTransformerWithRegistry(this));
+	}
+
+	private AgentBuilder withCache(AgentBuilder agentBuilder) {
+		try {
+			cache = TransformedClassCache.open(cacheDirectory, version());
+		} catch (IOException e) {
+			Logger.error("Transformed class cache disabled", e);
+			return agentBuilder;
+		}
+		TypeNameIndex adviceIndex = TypeNameIndex.of(adviceTypeMatchers);
+		TypeNameIndex delegationIndex = TypeNameIndex.of(delegationTypeMatchers);
+		TransformedClassCache openedCache = cache;
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				openedCache.flush();
+			} catch (IOException e) {
+				Logger.error("Transformed class cache save failed", e);
+			}
+		}, "ihub-agent-cache-flush"));
+		return agentBuilder.with((AgentBuilder.TransformerDecorator) classFileTransformer ->
+			new CachingClassFileTransformer(classFileTransformer, openedCache, typeName ->
+				adviceIndex.isCandidate(typeName) && delegationIndex.isFullyIndexed() && !delegationIndex.isCandidate(typeName)));
+	}
+
+	/**
+	 * 增强器集合版本，由内联增强器的类名、顺序、类字节码及Byte Buddy版本计算得出，任一变化即使缓存失效
+	 *
+	 * @return 增强器集合版本
+	 */
+	public String version() {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(String.valueOf(ByteBuddy.class.getPackage().getImplementationVersion()).getBytes(StandardCharsets.UTF_8));
+			for (IHubAdviceEnhancer adviceEnhancer : adviceEnhancers) {
+				digest.update((adviceEnhancer.getClass().getName() + '#' + adviceEnhancer.getOrder()).getBytes(StandardCharsets.UTF_8));
+				digest.update(classBytes(adviceEnhancer.getClass()));
+				digest.update(classBytes(adviceEnhancer.getAdviceClass()));
+			}
+			return HexFormat.of().formatHex(digest.digest(), 0, 8);
+		} catch (NoSuchAlgorithmException | IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] classBytes(Class<?> type) throws IOException {
+		String name = type.getName();
+		try (InputStream is = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+			return is == null ? new byte[0] : is.readAllBytes();
+		}
+	}
+
+	/**
+	 * 对类进行字节码增强，依次应用该类匹配的代理委托增强器链、内联增强器及自定义Transformer
+	 *
+	 * @param builder          类构建器
+	 * @param typeDescription  增强类
+	 * @param loader           类加载器
+	 * @param module           模块
+	 * @param protectionDomain 保护域
+	 * @return 增强后的类构建器
+	 */
+	public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription,
+											ClassLoader loader, JavaModule module, ProtectionDomain protectionDomain) {
+		List<IHubEnhancer> matched = new ArrayList<>(enhancers.size());
+		for (IHubEnhancer enhancer : enhancers) {
+			if (enhancer.enhanceClass().matches(typeDescription)) {
+				matched.add(enhancer);
+			}
+		}
+		if (!matched.isEmpty()) {
+			builder = IHubTransformer.transform(builder, typeDescription, loader, matched, inlineScope);
+		}
+		for (IHubAdviceEnhancer adviceEnhancer : adviceEnhancers) {
+			if (adviceEnhancer.enhanceClass().matches(typeDescription)) {
+				builder = IHubTransformer.transform(builder, adviceEnhancer);
+			}
+		}
+		for (Registration registration : registrations) {
+			if (registration.typeMatcher().matches(typeDescription)) {
+				DynamicType.Builder<?> transformed = registration.transformer()
+					.transform(builder, typeDescription, loader, module, protectionDomain);
+				if (transformed != null) {
+					builder = transformed;
+				}
+			}
+		}
+		return builder;
+	}
+
+	/**
+	 * 自定义Transformer注册项
+	 *
+	 * @param typeMatcher 类匹配器
+	 * @param transformer Transformer
+	 */
+	private record Registration(ElementMatcher.Junction<TypeDescription> typeMatcher, IHubTransformer transformer) {
+	}
+
+}
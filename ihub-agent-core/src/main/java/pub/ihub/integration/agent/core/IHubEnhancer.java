@@ -19,8 +19,6 @@ import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 
-import java.lang.reflect.Method;
-
 /**
  * 增强器接口
  *
@@ -63,14 +61,14 @@ public interface IHubEnhancer extends IAspectEnhancer, IAspectDefinition {
 	 * 方法执行前
 	 *
 	 * @param objInst        实例
-	 * @param method         方法
+	 * @param method         方法描述
 	 * @param allArguments   参数
 	 * @param argumentsTypes 参数类型
-	 * @param result         结果
+	 * @param context        调用上下文
 	 * @throws Throwable 异常
 	 */
 	@Override
-	default void beforeMethod(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object result) throws Throwable {
+	default void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) throws Throwable {
 
 	}
 
@@ -78,7 +76,7 @@ public interface IHubEnhancer extends IAspectEnhancer, IAspectDefinition {
 	 * 方法执行后
 	 *
 	 * @param objInst        实例
-	 * @param method         方法
+	 * @param method         方法描述
 	 * @param allArguments   参数
 	 * @param argumentsTypes 参数类型
 	 * @param ret            结果
@@ -86,7 +84,7 @@ public interface IHubEnhancer extends IAspectEnhancer, IAspectDefinition {
 	 * @throws Throwable 异常
 	 */
 	@Override
-	default Object afterMethod(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) throws Throwable {
+	default Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) throws Throwable {
 		return null;
 	}
 
@@ -94,13 +92,13 @@ public interface IHubEnhancer extends IAspectEnhancer, IAspectDefinition {
 	 * 方法执行异常
 	 *
 	 * @param objInst        实例
-	 * @param method         方法
+	 * @param method         方法描述
 	 * @param allArguments   参数
 	 * @param argumentsTypes 参数类型
 	 * @param t              异常
 	 */
 	@Override
-	default void handleMethodException(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t) {
+	default void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t) {
 
 	}
 
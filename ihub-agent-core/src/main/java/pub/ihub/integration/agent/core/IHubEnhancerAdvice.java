@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 切面增强内联代码
+ * <p>
+ * 代理委托增强器的Advice形式，经 {@link IHubEnhancerDispatcher} 调用增强器，不改变类结构。
+ * 增强方法描述编号通过 {@link DescriptorId} 在增强时绑定为常量。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubEnhancerAdvice {
+
+	private IHubEnhancerAdvice() {
+	}
+
+	/**
+	 * 方法进入
+	 *
+	 * @param id           方法描述编号
+	 * @param obj          目标类实例
+	 * @param type         声明类
+	 * @param allArguments 所有方法参数
+	 * @param arguments    传递至方法退出的参数
+	 * @param context      传递至方法退出的调用上下文
+	 * @return 是否截断原方法调用
+	 */
+	@Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+	static boolean enter(@DescriptorId int id, @Advice.This Object obj, @Advice.Origin Class<?> type,
+						 @Advice.AllArguments Object[] allArguments, @Advice.Local("arguments") Object[] arguments,
+						 @Advice.Local("context") MethodInvocationContext context) {
+		arguments = allArguments;
+		context = IHubEnhancerDispatcher.enter(id, obj, type, arguments);
+		return context.isSkipped();
+	}
+
+	/**
+	 * 方法退出
+	 *
+	 * @param obj       目标类实例
+	 * @param arguments 方法进入时的参数
+	 * @param context   方法进入时的调用上下文
+	 * @param ret       方法返回值
+	 * @param thrown    方法抛出的异常
+	 */
+	@Advice.OnMethodExit(onThrowable = Throwable.class)
+	static void exit(@Advice.This Object obj, @Advice.Local("arguments") Object[] arguments,
+					 @Advice.Local("context") MethodInvocationContext context,
+					 @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object ret,
+					 @Advice.Thrown Throwable thrown) {
+		ret = IHubEnhancerDispatcher.exit(obj, arguments, ret, thrown, context);
+	}
+
+	/**
+	 * 不读取方法参数的增强器使用的内联代码，不构建参数数组
+	 */
+	public static final class Lite {
+
+		private Lite() {
+		}
+
+		/**
+		 * 方法进入
+		 *
+		 * @param id      方法描述编号
+		 * @param obj     目标类实例
+		 * @param type    声明类
+		 * @param context 传递至方法退出的调用上下文
+		 * @return 是否截断原方法调用
+		 */
+		@Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+		static boolean enter(@DescriptorId int id, @Advice.This Object obj, @Advice.Origin Class<?> type,
+							 @Advice.Local("context") MethodInvocationContext context) {
+			context = IHubEnhancerDispatcher.enter(id, obj, type, null);
+			return context.isSkipped();
+		}
+
+		/**
+		 * 方法退出
+		 *
+		 * @param obj     目标类实例
+		 * @param context 方法进入时的调用上下文
+		 * @param ret     方法返回值
+		 * @param thrown  方法抛出的异常
+		 */
+		@Advice.OnMethodExit(onThrowable = Throwable.class)
+		static void exit(@Advice.This Object obj, @Advice.Local("context") MethodInvocationContext context,
+						 @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object ret,
+						 @Advice.Thrown Throwable thrown) {
+			ret = IHubEnhancerDispatcher.exit(obj, null, ret, thrown, context);
+		}
+
+	}
+
+	/**
+	 * 增强方法描述编号
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.PARAMETER)
+	public @interface DescriptorId {
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import pub.ihub.integration.core.Logger;
+
+import java.util.List;
+
+/**
+ * 增强器链
+ * <p>
+ * 同一方法匹配多个增强器时，由一个代理在同一拦截帧内按顺序调用，共享参数数组与原始调用。
+ * beforeMethod 按顺序执行，某一增强器截断调用后不再执行后续 beforeMethod；
+ * afterMethod、handleMethodException 仅对已执行 beforeMethod 的增强器按逆序执行。
+ * 每个增强器在调用上下文中使用与其位置对应的附件槽位。
+ * 单个增强器的异常不影响链中其他增强器。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubEnhancerChain implements IAspectEnhancer {
+
+	/**
+	 * 增强器，按执行顺序排列
+	 */
+	private final IAspectEnhancer[] enhancers;
+	/**
+	 * 是否读取方法参数
+	 */
+	private final boolean requiresArguments;
+
+	/**
+	 * 构造器
+	 *
+	 * @param enhancers 增强器，按执行顺序排列
+	 */
+	public IHubEnhancerChain(List<? extends IAspectEnhancer> enhancers) {
+		this.enhancers = enhancers.toArray(new IAspectEnhancer[0]);
+		boolean requires = false;
+		for (IAspectEnhancer enhancer : this.enhancers) {
+			requires |= enhancer.requiresArguments();
+		}
+		this.requiresArguments = requires;
+	}
+
+	@Override
+	public boolean requiresArguments() {
+		return requiresArguments;
+	}
+
+	@Override
+	public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+		for (int i = 0; i < enhancers.length; i++) {
+			context.selectSlot(i);
+			context.entered(i + 1);
+			try {
+				enhancers[i].beforeMethod(objInst, method, allArguments, argumentsTypes, context);
+			} catch (Throwable t) {
+				Logger.error("IHubEnhancerChain failure - beforeMethod, [%s], enhancer = %s, msg = %s", method.getOperationName(), enhancers[i].getClass().getName(), t.toString());
+			}
+			if (context.isSkipped()) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) {
+		for (int i = enhancers.length - 1; i >= 0; i--) {
+			try {
+				enhancers[i].afterMethod(objInst, method, allArguments, argumentsTypes, ret);
+			} catch (Throwable t) {
+				Logger.error("IHubEnhancerChain failure - afterMethod, [%s], enhancer = %s, msg = %s", method.getOperationName(), enhancers[i].getClass().getName(), t.toString());
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret,
+							  MethodInvocationContext context) {
+		for (int i = context.entered() - 1; i >= 0; i--) {
+			context.selectSlot(i);
+			try {
+				enhancers[i].afterMethod(objInst, method, allArguments, argumentsTypes, ret, context);
+			} catch (Throwable t) {
+				Logger.error("IHubEnhancerChain failure - afterMethod, [%s], enhancer = %s, msg = %s", method.getOperationName(), enhancers[i].getClass().getName(), t.toString());
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t,
+									  MethodInvocationContext context) {
+		for (int i = context.entered() - 1; i >= 0; i--) {
+			context.selectSlot(i);
+			try {
+				enhancers[i].handleMethodException(objInst, method, allArguments, argumentsTypes, t, context);
+			} catch (Throwable t2) {
+				Logger.error("IHubEnhancerChain failure - handleMethodException, [%s], enhancer = %s, msg = %s", method.getOperationName(), enhancers[i].getClass().getName(), t2.toString());
+			}
+		}
+	}
+
+	@Override
+	public void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t) {
+		for (int i = enhancers.length - 1; i >= 0; i--) {
+			try {
+				enhancers[i].handleMethodException(objInst, method, allArguments, argumentsTypes, t);
+			} catch (Throwable t2) {
+				Logger.error("IHubEnhancerChain failure - handleMethodException, [%s], enhancer = %s, msg = %s", method.getOperationName(), enhancers[i].getClass().getName(), t2.toString());
+			}
+		}
+	}
+
+}
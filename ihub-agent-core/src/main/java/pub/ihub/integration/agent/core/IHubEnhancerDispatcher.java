@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import pub.ihub.integration.core.Logger;
+
+import java.util.Arrays;
+
+/**
+ * 内联增强分发器
+ * <p>
+ * 以Advice方式内联的增强代码按方法描述编号调用此分发器，由其执行对应增强器的各回调。
+ * 内联增强不新增方法与字段，可用于对已加载类重转换。
+ * 增强器随所属注册作用域释放，释放后仍在执行的内联代码不再回调增强器。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubEnhancerDispatcher {
+
+	/**
+	 * 空参数
+	 */
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+	/**
+	 * 增强器，下标为方法描述编号
+	 */
+	private static volatile IAspectEnhancer[] ENHANCERS = new IAspectEnhancer[16];
+
+	private IHubEnhancerDispatcher() {
+	}
+
+	/**
+	 * 注册增强方法的增强器
+	 *
+	 * @param descriptor 增强方法描述
+	 * @param enhancer   增强器
+	 */
+	static synchronized void register(MethodDescriptor descriptor, IAspectEnhancer enhancer) {
+		IAspectEnhancer[] enhancers = ENHANCERS;
+		if (descriptor.getId() >= enhancers.length) {
+			enhancers = Arrays.copyOf(enhancers, Math.max(enhancers.length << 1, descriptor.getId() + 1));
+		}
+		enhancers[descriptor.getId()] = enhancer;
+		ENHANCERS = enhancers;
+	}
+
+	/**
+	 * 释放增强方法的增强器
+	 *
+	 * @param id 方法描述编号
+	 */
+	static synchronized void release(int id) {
+		IAspectEnhancer[] enhancers = ENHANCERS;
+		if (id >= 0 && id < enhancers.length) {
+			enhancers[id] = null;
+		}
+	}
+
+	private static IAspectEnhancer enhancer(int id) {
+		IAspectEnhancer[] enhancers = ENHANCERS;
+		return id < enhancers.length ? enhancers[id] : null;
+	}
+
+	/**
+	 * 方法进入，执行 beforeMethod；方法描述无法按声明类绑定时本次调用不执行增强
+	 *
+	 * @param id           方法描述编号
+	 * @param obj          目标类实例
+	 * @param type         声明类，仅在首次调用时用于绑定方法描述
+	 * @param allArguments 所有方法参数，为 null 时使用空参数
+	 * @return 调用上下文，由内联代码保存并传递至方法退出
+	 */
+	public static MethodInvocationContext enter(int id, Object obj, Class<?> type, Object[] allArguments) {
+		MethodInvocationContext context = MethodInvocationContext.acquire();
+		MethodDescriptor descriptor = MethodDescriptorRegistry.get(id);
+		IAspectEnhancer enhancer = enhancer(id);
+		if (descriptor == null || enhancer == null) {
+			return context;
+		}
+		try {
+			if (!descriptor.isBound() && !descriptor.bind(type)) {
+				return context;
+			}
+			context.descriptor = descriptor;
+			context.enhancer = enhancer;
+			enhancer.beforeMethod(obj, descriptor, arguments(allArguments), descriptor.getParameterTypes(), context);
+		} catch (Throwable t) {
+			Logger.error("IHubEnhancerDispatcher failure - beforeMethod, [%s], msg = %s", descriptor.getOperationName(), t.toString());
+		}
+		return context;
+	}
+
+	/**
+	 * 方法退出，执行 handleMethodException 与 afterMethod，增强器在方法进入时确定，期间释放不影响本次调用
+	 *
+	 * @param obj          目标类实例
+	 * @param allArguments 所有方法参数，为 null 时使用空参数
+	 * @param ret          原方法返回值
+	 * @param thrown       原方法抛出的异常，正常返回时为 null
+	 * @param context      方法进入时的调用上下文
+	 * @return 方法返回值，截断调用时为截断结果
+	 */
+	public static Object exit(Object obj, Object[] allArguments, Object ret, Throwable thrown, MethodInvocationContext context) {
+		MethodDescriptor descriptor = context.descriptor;
+		IAspectEnhancer enhancer = context.enhancer;
+		Object[] arguments = arguments(allArguments);
+		try {
+			if (context.isSkipped()) {
+				ret = context.getResult();
+			}
+			if (descriptor == null || enhancer == null) {
+				return ret;
+			}
+			if (thrown != null) {
+				try {
+					enhancer.handleMethodException(obj, descriptor, arguments, descriptor.getParameterTypes(), thrown, context);
+				} catch (Throwable t) {
+					Logger.error("IHubEnhancerDispatcher failure - handleMethodException, [%s], msg = %s", descriptor.getOperationName(), t.toString());
+				}
+			}
+			try {
+				enhancer.afterMethod(obj, descriptor, arguments, descriptor.getParameterTypes(), ret, context);
+			} catch (Throwable t) {
+				Logger.error("IHubEnhancerDispatcher failure - afterMethod, [%s], msg = %s", descriptor.getOperationName(), t.toString());
+			}
+			return ret;
+		} finally {
+			MethodInvocationContext.release(context);
+		}
+	}
+
+	private static Object[] arguments(Object[] allArguments) {
+		return allArguments == null ? EMPTY_ARGUMENTS : allArguments;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.implementation.bind.annotation.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+/**
+ * 轻量切面增强代理
+ * <p>
+ * 用于不读取方法参数的增强器（{@link IAspectEnhancer#requiresArguments()} 返回 false），
+ * 拦截时不绑定 {@link AllArguments}，各回调共享同一空参数数组。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public class IHubEnhancerLiteProxy {
+
+	/**
+	 * 空参数
+	 */
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+	/**
+	 * 切面增强代理
+	 */
+	private final IHubEnhancerProxy proxy = new IHubEnhancerProxy();
+
+	/**
+	 * 设置切面增强类
+	 *
+	 * @param enhancer 切面增强类
+	 */
+	@IgnoreForBinding
+	public void setEnhancer(IAspectEnhancer enhancer) {
+		proxy.setEnhancer(enhancer);
+	}
+
+	/**
+	 * 设置增强方法描述
+	 *
+	 * @param descriptor 增强方法描述
+	 */
+	@IgnoreForBinding
+	public void setDescriptor(MethodDescriptor descriptor) {
+		proxy.setDescriptor(descriptor);
+	}
+
+	/**
+	 * 使用 buddyByte 拦截目标实例方法
+	 *
+	 * @param obj    目标类实例
+	 * @param zuper  原始调用引用
+	 * @param method 方法，仅在首次调用时用于绑定方法描述
+	 * @return 目标实例方法的返回值
+	 * @throws Throwable 仅因zuper.call()抛出的异常
+	 */
+	@RuntimeType
+	@BindingPriority(value = 1)
+	public Object intercept(@This Object obj, @SuperCall Callable<?> zuper, @Origin Method method) throws Throwable {
+		return proxy.intercept(obj, EMPTY_ARGUMENTS, zuper, method);
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import pub.ihub.integration.core.Logger;
+
+import java.lang.instrument.Instrumentation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 增强器管理器
+ * <p>
+ * 运行期逐个安装、卸载增强器。每个增强器以独立的 {@link ResettableClassFileTransformer} 安装，
+ * 以内联方式重转换已加载类；卸载时移除该转换器并重转换受影响的类，恢复为其余已安装转换器作用后的字节码，
+ * 随后释放该增强器注册的内联方法描述。
+ * <p>
+ * 代理加载时安装的切面经 {@link #register(IHubAspectRegistry, ResettableClassFileTransformer, Collection)} 登记，
+ * 同名增强器不再重复安装；其中可重转换的切面可卸载，卸载时重置整组转换器并逐个重新安装组内其余增强器。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubEnhancerManager {
+
+	/**
+	 * 定时卸载线程名
+	 */
+	private static final String THREAD_NAME = "ihub-agent-enhancer-manager";
+
+	/**
+	 * 插桩实例
+	 */
+	private final Instrumentation instrumentation;
+	/**
+	 * 基础代理构建器
+	 */
+	private final AgentBuilder agentBuilder;
+	/**
+	 * 重转换配置
+	 */
+	private final IHubRetransformation retransformation;
+	/**
+	 * 已安装的增强器转换器，键为增强器类名，同组登记的增强器共用同一安装项
+	 */
+	private final Map<String, Installation> installed = new ConcurrentHashMap<>();
+	/**
+	 * 定时卸载调度器
+	 */
+	private volatile ScheduledExecutorService scheduler;
+
+	/**
+	 * 构造器
+	 *
+	 * @param instrumentation  插桩实例
+	 * @param agentBuilder     基础代理构建器
+	 * @param retransformation 重转换配置
+	 */
+	public IHubEnhancerManager(Instrumentation instrumentation, AgentBuilder agentBuilder, IHubRetransformation retransformation) {
+		this.instrumentation = instrumentation;
+		this.agentBuilder = agentBuilder;
+		this.retransformation = retransformation;
+	}
+
+	/**
+	 * 安装增强器
+	 *
+	 * @param enhancer 增强器
+	 * @return 是否安装，已安装同名增强器时返回 false
+	 */
+	public boolean install(IHubEnhancer enhancer) {
+		return doInstall(enhancer) != null;
+	}
+
+	/**
+	 * 安装增强器，到期后自动卸载
+	 *
+	 * @param enhancer       增强器
+	 * @param durationMillis 有效时长（毫秒）
+	 * @return 是否安装，已安装同名增强器时返回 false
+	 */
+	public boolean install(IHubEnhancer enhancer, long durationMillis) {
+		Installation installation = doInstall(enhancer);
+		if (installation == null) {
+			return false;
+		}
+		String name = enhancer.getClass().getName();
+		scheduler().schedule(() -> reset(name, installation), durationMillis, TimeUnit.MILLISECONDS);
+		return true;
+	}
+
+	/**
+	 * 登记已在管理器外安装的切面，如代理加载时安装的切面
+	 * <p>
+	 * 登记后同名增强器不再重复安装。切面注册表可重转换（见 {@link IHubAspectRegistry#isRetransformable()}）
+	 * 且转换器以 disableClassFormatChanges 安装时方可卸载，否则卸载时返回 false。
+	 *
+	 * @param registry    切面注册表
+	 * @param transformer 转换器
+	 * @param names       增强器类名
+	 * @return 是否登记，任一增强器已安装时返回 false
+	 */
+	public synchronized boolean register(IHubAspectRegistry registry, ResettableClassFileTransformer transformer, Collection<String> names) {
+		for (String name : names) {
+			if (installed.containsKey(name)) {
+				Logger.warn("Enhancer %s is already installed.", name);
+				return false;
+			}
+		}
+		Installation installation = new Installation(registry, transformer, Set.copyOf(names));
+		for (String name : names) {
+			installed.put(name, installation);
+		}
+		Logger.info("Enhancers %s registered.", names);
+		return true;
+	}
+
+	/**
+	 * 卸载增强器，受影响的类重转换为原始字节码
+	 *
+	 * @param name 增强器类名
+	 * @return 是否卸载，未安装或不可重转换时返回 false
+	 */
+	public synchronized boolean uninstall(String name) {
+		Installation installation = installed.get(name);
+		if (installation == null) {
+			return false;
+		}
+		if (!installation.registry().isRetransformable()) {
+			Logger.warn("Enhancer %s changes class format and can not be uninstalled.", name);
+			return false;
+		}
+		return reset(name, installation);
+	}
+
+	/**
+	 * 是否已安装增强器
+	 *
+	 * @param name 增强器类名
+	 * @return 是否已安装
+	 */
+	public boolean isInstalled(String name) {
+		return installed.containsKey(name);
+	}
+
+	private synchronized Installation doInstall(IAspectDefinition definition) {
+		String name = definition.getClass().getName();
+		if (installed.containsKey(name)) {
+			Logger.warn("Enhancer %s is already installed.", name);
+			return null;
+		}
+		IHubAspectRegistry registry = new IHubAspectRegistry().enableInlining().register(definition);
+		ResettableClassFileTransformer transformer = retransformation.apply(registry.apply(agentBuilder.disableClassFormatChanges()))
+			.installOn(instrumentation);
+		Installation installation = new Installation(registry, transformer, Set.of(name));
+		installed.put(name, installation);
+		Logger.info("Enhancer %s installed.", name);
+		return installation;
+	}
+
+	private synchronized boolean reset(String name, Installation installation) {
+		if (installed.get(name) != installation) {
+			return false;
+		}
+		installation.names().forEach(installed::remove);
+		boolean reset = installation.transformer().reset(instrumentation, AgentBuilder.RedefinitionStrategy.RETRANSFORMATION);
+		installation.registry().release();
+		Logger.info("Enhancer %s uninstalled, reset = %s.", name, reset);
+		// 同组登记的其余增强器逐个重新安装
+		for (IAspectDefinition definition : installation.registry().getDefinitions()) {
+			if (!definition.getClass().getName().equals(name) && installation.names().contains(definition.getClass().getName())) {
+				doInstall(definition);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 重转换配置，可经 {@link IHubRetransformation#getListener()} 读取运行期安装的各批次耗时
+	 *
+	 * @return 重转换配置
+	 */
+	public IHubRetransformation getRetransformation() {
+		return retransformation;
+	}
+
+	/**
+	 * 已安装的增强器类名
+	 *
+	 * @return 增强器类名
+	 */
+	public Set<String> getInstalled() {
+		return Collections.unmodifiableSet(installed.keySet());
+	}
+
+	private ScheduledExecutorService scheduler() {
+		if (scheduler == null) {
+			synchronized (this) {
+				if (scheduler == null) {
+					scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+						Thread thread = new Thread(runnable, THREAD_NAME);
+						thread.setDaemon(true);
+						return thread;
+					});
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	/**
+	 * 增强器安装项
+	 *
+	 * @param registry    切面注册表
+	 * @param transformer 转换器
+	 * @param names       增强器类名
+	 */
+	private record Installation(IHubAspectRegistry registry, ResettableClassFileTransformer transformer, Set<String> names) {
+	}
+
+}
@@ -33,6 +33,10 @@ public class IHubEnhancerProxy {
 	 * 切面增强类
 	 */
 	public IAspectEnhancer enhancer;
+	/**
+	 * 增强方法描述
+	 */
+	public MethodDescriptor descriptor;
 
 	/**
 	 * 设置切面增强类
@@ -44,6 +48,16 @@ public class IHubEnhancerProxy {
 		this.enhancer = enhancer;
 	}
 
+	/**
+	 * 设置增强方法描述
+	 *
+	 * @param descriptor 增强方法描述
+	 */
+	@IgnoreForBinding
+	public void setDescriptor(MethodDescriptor descriptor) {
+		this.descriptor = descriptor;
+	}
+
 	/**
 	 * 使用 buddyByte 拦截目标实例方法
 	 *
@@ -58,36 +72,45 @@ public class IHubEnhancerProxy {
 	@BindingPriority(value = 1)
 	public Object intercept(@This Object obj, @AllArguments Object[] allArguments, @SuperCall Callable<?> zuper,
 							@Origin Method method) throws Throwable {
-		Object result = null;
-		try {
-			enhancer.beforeMethod(obj, method, allArguments, method.getParameterTypes(), result);
-		} catch (Throwable t) {
-			Logger.error("IHubEnhancerProxy failure - beforeMethod, [%s].[%s], msg = %s", obj.getClass(), method.getName(), t.toString());
+		MethodDescriptor descriptor = this.descriptor;
+		if (!descriptor.isBound()) {
+			descriptor.bind(method);
 		}
-
-		Object ret = null;
+		Class<?>[] argumentsTypes = descriptor.getParameterTypes();
+		MethodInvocationContext context = MethodInvocationContext.acquire();
 		try {
-			if (null != result) {
-				ret = result;
-			} else {
-				ret = zuper.call();
-			}
-		} catch (Throwable t) {
 			try {
-				enhancer.handleMethodException(obj, method, allArguments, method.getParameterTypes(), t);
-			} catch (Throwable t2) {
-				Logger.error("IHubEnhancerProxy failure - handleMethodException, [%s].[%s], msg = %s", obj.getClass(), method.getName(), t2.toString());
+				enhancer.beforeMethod(obj, descriptor, allArguments, argumentsTypes, context);
+			} catch (Throwable t) {
+				Logger.error("IHubEnhancerProxy failure - beforeMethod, [%s], msg = %s", descriptor.getOperationName(), t.toString());
 			}
-			throw t;
-		} finally {
+
+			Object ret = null;
 			try {
-				enhancer.afterMethod(obj, method, allArguments, method.getParameterTypes(), ret);
-			} catch (Throwable t3) {
-				Logger.error("IHubEnhancerProxy failure - afterMethod, [%s].[%s], msg = %s", obj.getClass(), method.getName(), t3.toString());
+				if (context.isSkipped()) {
+					ret = context.getResult();
+				} else {
+					ret = zuper.call();
+				}
+			} catch (Throwable t) {
+				try {
+					enhancer.handleMethodException(obj, descriptor, allArguments, argumentsTypes, t, context);
+				} catch (Throwable t2) {
+					Logger.error("IHubEnhancerProxy failure - handleMethodException, [%s], msg = %s", descriptor.getOperationName(), t2.toString());
+				}
+				throw t;
+			} finally {
+				try {
+					enhancer.afterMethod(obj, descriptor, allArguments, argumentsTypes, ret, context);
+				} catch (Throwable t3) {
+					Logger.error("IHubEnhancerProxy failure - afterMethod, [%s], msg = %s", descriptor.getOperationName(), t3.toString());
+				}
 			}
-		}
 
-		return ret;
+			return ret;
+		} finally {
+			MethodInvocationContext.release(context);
+		}
 	}
 
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import pub.ihub.integration.core.Logger;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 延迟安装器
+ * <p>
+ * premain 阶段仅注册一个按类名比对的轻量转换器，在触发类首次加载或延迟时间到达后（以先到者为准），
+ * 由后台线程执行实际安装，启动阶段加载的类不经过增强匹配。
+ * 安装时已加载的类须通过重转换增强，增强不可改变类结构，参见 {@link IHubAspectRegistry#enableInlining()}。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubLazyInstaller implements ClassFileTransformer {
+
+	/**
+	 * 安装线程名
+	 */
+	private static final String THREAD_NAME = "ihub-agent-installer";
+
+	/**
+	 * 插桩实例
+	 */
+	private final Instrumentation instrumentation;
+	/**
+	 * 实际安装
+	 */
+	private final Runnable installation;
+	/**
+	 * 触发类内部名，为 null 时仅按延迟时间安装
+	 */
+	private final String triggerClassName;
+	/**
+	 * 延迟时间（毫秒），不大于0且配置了触发类时仅按触发类安装
+	 */
+	private final long delayMillis;
+	/**
+	 * 触发信号
+	 */
+	private final CountDownLatch triggered = new CountDownLatch(1);
+
+	/**
+	 * 构造器
+	 *
+	 * @param instrumentation 插桩实例
+	 * @param installation    实际安装
+	 * @param triggerClass    触发类全称，为 null 时仅按延迟时间安装
+	 * @param delayMillis     延迟时间（毫秒）
+	 */
+	public IHubLazyInstaller(Instrumentation instrumentation, Runnable installation, String triggerClass, long delayMillis) {
+		this.instrumentation = instrumentation;
+		this.installation = installation;
+		this.triggerClassName = triggerClass == null ? null : triggerClass.replace('.', '/');
+		this.delayMillis = delayMillis;
+	}
+
+	/**
+	 * 开始等待安装时机
+	 */
+	public void start() {
+		if (triggerClassName != null) {
+			instrumentation.addTransformer(this);
+		}
+		Thread thread = new Thread(this::awaitAndInstall, THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+							ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+		if (triggerClassName.equals(className)) {
+			triggered.countDown();
+		}
+		return null;
+	}
+
+	private void awaitAndInstall() {
+		try {
+			if (triggerClassName == null) {
+				TimeUnit.MILLISECONDS.sleep(delayMillis);
+			} else if (delayMillis > 0) {
+				triggered.await(delayMillis, TimeUnit.MILLISECONDS);
+			} else {
+				triggered.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			Logger.warn("The ihub agent lazy install interrupted.");
+			return;
+		} finally {
+			if (triggerClassName != null) {
+				instrumentation.removeTransformer(this);
+			}
+		}
+		long start = System.nanoTime();
+		try {
+			installation.run();
+			Logger.info("The ihub agent has been installed lazily in %d ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (Throwable t) {
+			Logger.error("The ihub agent lazy install failed", t);
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.utility.JavaModule;
 import pub.ihub.integration.core.Logger;
+import pub.ihub.integration.core.NamedLogger;
 
 /**
  * 增强器监听器
@@ -29,6 +30,11 @@ import pub.ihub.integration.core.Logger;
  */
 public interface IHubListener extends AgentBuilder.Listener {
 
+	/**
+	 * 监听器日志，级别可按类名 pub.ihub.integration.agent.core.IHubListener 单独配置
+	 */
+	NamedLogger LOGGER = Logger.getLogger(IHubListener.class);
+
 	/**
 	 * 增强类发现
 	 *
@@ -39,7 +45,7 @@ public interface IHubListener extends AgentBuilder.Listener {
 	 */
 	@Override
 	default void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
-		Logger.trace("Enhanced class {%s} discovered, loaded = %s", typeName, loaded);
+		LOGGER.trace("Enhanced class {%s} discovered, loaded = %s", typeName, loaded);
 	}
 
 	/**
@@ -53,7 +59,7 @@ public interface IHubListener extends AgentBuilder.Listener {
 	 */
 	@Override
 	default void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded, DynamicType dynamicType) {
-		Logger.trace("Enhanced class {%s} transformed, loaded = %s", typeDescription.getName(), loaded);
+		LOGGER.trace("Enhanced class {%s} transformed, loaded = %s", typeDescription.getName(), loaded);
 	}
 
 	/**
@@ -66,7 +72,7 @@ public interface IHubListener extends AgentBuilder.Listener {
 	 */
 	@Override
 	default void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded) {
-		Logger.trace("Enhanced class {%s} ignored, loaded = %s", typeDescription, loaded);
+		LOGGER.trace("Enhanced class {%s} ignored, loaded = %s", typeDescription, loaded);
 	}
 
 	/**
@@ -80,7 +86,7 @@ public interface IHubListener extends AgentBuilder.Listener {
 	 */
 	@Override
 	default void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
-		Logger.trace("Enhanced class {%s} error, loaded = %s, exception msg = %s", typeName, loaded, throwable.getMessage());
+		LOGGER.trace("Enhanced class {%s} error, loaded = %s, exception msg = %s", typeName, loaded, throwable.getMessage());
 	}
 
 	/**
@@ -93,7 +99,7 @@ public interface IHubListener extends AgentBuilder.Listener {
 	 */
 	@Override
 	default void onComplete(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
-		Logger.trace("Enhanced class {%s} completed, loaded = %s", typeName, loaded);
+		LOGGER.trace("Enhanced class {%s} completed, loaded = %s", typeName, loaded);
 	}
 
 }
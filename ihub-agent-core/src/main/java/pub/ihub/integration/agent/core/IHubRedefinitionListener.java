@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import pub.ihub.integration.core.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分批重转换监听器
+ * <p>
+ * 已加载类按批重转换时，在相邻批次之间暂停，使应用线程得以运行，将一次长时间的安全点停顿拆分为多次短停顿。
+ * 暂停时长取固定暂停时长与上一批耗时乘以退避系数两者中的较大值；记录每批耗时，供观测重转换对应用的影响。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubRedefinitionListener implements AgentBuilder.RedefinitionStrategy.Listener {
+
+	/**
+	 * 批次间固定暂停时长（毫秒）
+	 */
+	private final long pauseMillis;
+	/**
+	 * 退避系数，批次间至少暂停上一批耗时的该倍数
+	 */
+	private final double backoffFactor;
+	/**
+	 * 是否有进行中的批次
+	 */
+	private boolean inBatch;
+	/**
+	 * 当前批次开始时间
+	 */
+	private long batchStart;
+	/**
+	 * 当前批次类数量
+	 */
+	private int batchSize;
+	/**
+	 * 已完成批次数
+	 */
+	private volatile int batchCount;
+	/**
+	 * 各批次耗时合计（纳秒）
+	 */
+	private volatile long totalBatchNanos;
+	/**
+	 * 单批最大耗时（纳秒）
+	 */
+	private volatile long maxBatchNanos;
+	/**
+	 * 上一批耗时（纳秒）
+	 */
+	private volatile long lastBatchNanos;
+
+	/**
+	 * 构造器
+	 *
+	 * @param pauseMillis   批次间固定暂停时长（毫秒）
+	 * @param backoffFactor 退避系数
+	 */
+	public IHubRedefinitionListener(long pauseMillis, double backoffFactor) {
+		this.pauseMillis = pauseMillis;
+		this.backoffFactor = backoffFactor;
+	}
+
+	@Override
+	public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+		if (inBatch) {
+			completeBatch(index - 1);
+			pause();
+		}
+		inBatch = true;
+		batchSize = batch.size();
+		batchStart = System.nanoTime();
+	}
+
+	@Override
+	public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+		Logger.warn("Retransformation batch %d failed, %d classes skipped, msg = %s", index, batch.size(), throwable.toString());
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+		if (inBatch) {
+			completeBatch(batchCount);
+			inBatch = false;
+		}
+		Logger.info("Retransformation completed, %d classes in %d batches, total %d ms, max batch %d ms, %d failed batches",
+			types.size(), batchCount, TimeUnit.NANOSECONDS.toMillis(totalBatchNanos),
+			TimeUnit.NANOSECONDS.toMillis(maxBatchNanos), failures.size());
+	}
+
+	private void completeBatch(int index) {
+		long nanos = System.nanoTime() - batchStart;
+		lastBatchNanos = nanos;
+		totalBatchNanos += nanos;
+		if (nanos > maxBatchNanos) {
+			maxBatchNanos = nanos;
+		}
+		batchCount++;
+		Logger.debug("Retransformation batch %d, %d classes in %d us", index, batchSize, TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	private void pause() {
+		long nanos = Math.max(TimeUnit.MILLISECONDS.toNanos(pauseMillis), (long) (lastBatchNanos * backoffFactor));
+		if (nanos <= 0) {
+			return;
+		}
+		try {
+			TimeUnit.NANOSECONDS.sleep(nanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 已完成批次数
+	 *
+	 * @return 批次数
+	 */
+	public int getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * 各批次耗时合计
+	 *
+	 * @return 耗时（纳秒）
+	 */
+	public long getTotalBatchNanos() {
+		return totalBatchNanos;
+	}
+
+	/**
+	 * 单批最大耗时
+	 *
+	 * @return 耗时（纳秒）
+	 */
+	public long getMaxBatchNanos() {
+		return maxBatchNanos;
+	}
+
+	/**
+	 * 上一批耗时
+	 *
+	 * @return 耗时（纳秒）
+	 */
+	public long getLastBatchNanos() {
+		return lastBatchNanos;
+	}
+
+}
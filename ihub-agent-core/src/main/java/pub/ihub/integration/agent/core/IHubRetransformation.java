@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+
+/**
+ * 重转换配置
+ * <p>
+ * 对已加载类启用 {@link AgentBuilder.RedefinitionStrategy#RETRANSFORMATION}，按代理参数配置批次大小、类发现策略与批次间暂停：
+ * <ul>
+ *     <li>agent.retransform.batch.size：每批类数量，不大于0时一次重转换所有类，默认0</li>
+ *     <li>agent.retransform.discovery：类发现策略，single 为单次发现，reiterating 为重复发现直至无新增类，默认 single</li>
+ *     <li>agent.retransform.pause：批次间固定暂停时长（毫秒），默认0，暂停在执行重转换的线程上休眠</li>
+ *     <li>agent.retransform.backoff：退避系数，批次间至少暂停上一批耗时的该倍数，默认0</li>
+ * </ul>
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubRetransformation {
+
+	/**
+	 * 每批类数量参数
+	 */
+	public static final String BATCH_SIZE = "agent.retransform.batch.size";
+	/**
+	 * 类发现策略参数
+	 */
+	public static final String DISCOVERY = "agent.retransform.discovery";
+	/**
+	 * 批次间固定暂停时长参数
+	 */
+	public static final String PAUSE = "agent.retransform.pause";
+	/**
+	 * 退避系数参数
+	 */
+	public static final String BACKOFF = "agent.retransform.backoff";
+	/**
+	 * 重复发现策略
+	 */
+	private static final String DISCOVERY_REITERATING = "reiterating";
+
+	/**
+	 * 每批类数量
+	 */
+	private final int batchSize;
+	/**
+	 * 是否重复发现
+	 */
+	private final boolean reiterating;
+	/**
+	 * 分批重转换监听器
+	 */
+	private final IHubRedefinitionListener listener;
+
+	private IHubRetransformation(int batchSize, boolean reiterating, IHubRedefinitionListener listener) {
+		this.batchSize = batchSize;
+		this.reiterating = reiterating;
+		this.listener = listener;
+	}
+
+	/**
+	 * 按代理参数构建重转换配置
+	 *
+	 * @param arguments 代理参数
+	 * @return 重转换配置
+	 */
+	public static IHubRetransformation of(IHubAgentArguments arguments) {
+		return new IHubRetransformation(arguments.getInt(BATCH_SIZE, 0),
+			DISCOVERY_REITERATING.equals(arguments.get(DISCOVERY)),
+			new IHubRedefinitionListener(arguments.getLong(PAUSE, 0), arguments.getDouble(BACKOFF, 0)));
+	}
+
+	/**
+	 * 构建不在批次间暂停的重转换配置，批次大小与发现策略不变
+	 * <p>
+	 * 批次间暂停在调用线程上休眠，用于让出CPU给已运行的应用线程；
+	 * 在 premain 中立即安装时应用线程尚未运行，暂停只会推迟应用启动。
+	 *
+	 * @return 重转换配置
+	 */
+	public IHubRetransformation withoutPause() {
+		return new IHubRetransformation(batchSize, reiterating, new IHubRedefinitionListener(0, 0));
+	}
+
+	/**
+	 * 应用至代理构建器
+	 *
+	 * @param agentBuilder 代理构建器
+	 * @return 代理构建器
+	 */
+	public AgentBuilder apply(AgentBuilder agentBuilder) {
+		AgentBuilder.RedefinitionStrategy.BatchAllocator batchAllocator = batchSize > 0
+			? AgentBuilder.RedefinitionStrategy.BatchAllocator.ForFixedSize.ofSize(batchSize)
+			: AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE;
+		AgentBuilder.RedefinitionStrategy.DiscoveryStrategy discoveryStrategy = reiterating
+			? AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.Reiterating.INSTANCE
+			: AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE;
+		return agentBuilder.with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+			.with(batchAllocator)
+			.with(discoveryStrategy)
+			.with(listener);
+	}
+
+	/**
+	 * 分批重转换监听器，提供各批次耗时
+	 *
+	 * @return 分批重转换监听器
+	 */
+	public IHubRedefinitionListener getListener() {
+		return listener;
+	}
+
+}
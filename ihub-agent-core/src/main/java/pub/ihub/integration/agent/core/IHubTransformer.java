@@ -16,16 +16,26 @@
 package pub.ihub.integration.agent.core;
 
 import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.MethodGraph;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bind.annotation.Morph;
+import net.bytebuddy.matcher.ElementMatcher;
 import pub.ihub.integration.agent.core.transformer.IHubTransformerWithClassLoader;
 import pub.ihub.integration.agent.core.transformer.IHubTransformerWithEnhancer;
 import pub.ihub.integration.agent.core.transformer.IHubTransformerWithEnhancerInstanceLoader;
 import pub.ihub.integration.core.Logger;
 
-import static net.bytebuddy.matcher.ElementMatchers.isStatic;
-import static net.bytebuddy.matcher.ElementMatchers.not;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
 
 /**
  * 通过当前Transformer对类进行字节码增强
@@ -36,33 +46,128 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
 public interface IHubTransformer extends AgentBuilder.Transformer {
 
 	/**
-	 * 对类进行字节码增强
+	 * 对类进行字节码增强，为每个增强方法注册方法描述并绑定独立的增强器代理
+	 *
+	 * @param builder         类构建器
+	 * @param typeDescription 增强类
+	 * @param enhancer        增强器
+	 * @return 增强后的类构建器
+	 */
+	static DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription, IHubEnhancer enhancer) {
+		if (enhancer == null) {
+			Logger.error("enhancer is null");
+			return null;
+		}
+
+		return transform(builder, typeDescription, Collections.singletonList(enhancer));
+	}
+
+	/**
+	 * 对类进行字节码增强，同一方法匹配的多个增强器合并为增强器链，由一个代理在同一拦截帧内执行
+	 *
+	 * @param builder         类构建器
+	 * @param typeDescription 增强类
+	 * @param enhancers       增强器，按执行顺序排列
+	 * @return 增强后的类构建器
+	 */
+	static DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription, List<? extends IHubEnhancer> enhancers) {
+		return transform(builder, typeDescription, null, enhancers, null);
+	}
+
+	/**
+	 * 对类进行字节码增强，同一方法匹配的多个增强器合并为增强器链
+	 * <p>
+	 * 指定内联注册作用域时以 {@link IHubEnhancerAdvice} 织入目标方法，不新增方法与字段，适用于对已加载类重转换；
+	 * 内联代码只能织入当前类声明的方法，继承而未覆写的方法须由其声明类匹配增强。
+	 * 否则以代理委托方式拦截目标方法，包括当前类声明及继承的可覆写方法，方法描述不注册。
+	 *
+	 * @param builder         类构建器
+	 * @param typeDescription 增强类
+	 * @param loader          增强类的类加载器，内联注册时用于区分同名类
+	 * @param enhancers       增强器，按执行顺序排列
+	 * @param scope           内联注册作用域，为 null 时以代理委托方式增强
+	 * @return 增强后的类构建器
+	 */
+	static DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassLoader loader,
+											List<? extends IHubEnhancer> enhancers, MethodDescriptorRegistry.Scope scope) {
+		for (MethodDescription method : methods(typeDescription, scope != null)) {
+			List<IHubEnhancer> matched = new ArrayList<>(enhancers.size());
+			for (IHubEnhancer enhancer : enhancers) {
+				if (enhancer.getMethodsMatcher().matches(method)) {
+					matched.add(enhancer);
+				}
+			}
+			if (matched.isEmpty()) {
+				continue;
+			}
+			IAspectEnhancer enhancer = matched.size() == 1 ? matched.get(0) : new IHubEnhancerChain(matched);
+			if (scope != null) {
+				MethodDescriptor descriptor = scope.register(loader, typeDescription, method, enhancer);
+				builder = builder.visit(Advice.withCustomMapping()
+					.bind(IHubEnhancerAdvice.DescriptorId.class, descriptor.getId())
+					.to(enhancer.requiresArguments() ? IHubEnhancerAdvice.class : IHubEnhancerAdvice.Lite.class)
+					.on(is(method)));
+				continue;
+			}
+			builder = builder.method(is(method))
+				.intercept(MethodDelegation.withDefaultConfiguration()
+					.withBinders(Morph.Binder.install(IHubOverrideCallable.class))
+					.to(IHubTransformer.buildEnhancerProxy(enhancer, MethodDescriptorRegistry.describe(typeDescription, method))));
+		}
+		return builder;
+	}
+
+	/**
+	 * 可增强的实例方法：内联时为当前类声明的方法，代理委托时另含继承的可覆写方法
+	 *
+	 * @param typeDescription 增强类
+	 * @param inline          是否内联
+	 * @return 方法
+	 */
+	private static MethodList<?> methods(TypeDescription typeDescription, boolean inline) {
+		ElementMatcher.Junction<MethodDescription> instanceMethod = isMethod().and(not(isStatic())).and(not(isAbstract()));
+		if (inline) {
+			return typeDescription.getDeclaredMethods().filter(instanceMethod);
+		}
+		ElementMatcher.Junction<MethodDescription> overridable = isVirtual().and(not(isFinal())).and(isVisibleTo(typeDescription));
+		return MethodGraph.Compiler.DEFAULT.compile((TypeDefinition) typeDescription).listNodes().asMethodList()
+			.filter(instanceMethod.and(isDeclaredBy(typeDescription).or(overridable)));
+	}
+
+	/**
+	 * 对类进行字节码增强，增强代码以Advice方式内联至目标方法
 	 *
 	 * @param builder  类构建器
-	 * @param enhancer 增强器
+	 * @param enhancer 内联增强器
 	 * @return 增强后的类构建器
 	 */
-	static DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, IHubEnhancer enhancer) {
+	static DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, IHubAdviceEnhancer enhancer) {
 		if (enhancer == null) {
 			Logger.error("enhancer is null");
 			return null;
 		}
 
-		return builder.method(not(isStatic()).and(enhancer.getMethodsMatcher()))
-			.intercept(MethodDelegation.withDefaultConfiguration()
-				.withBinders(Morph.Binder.install(IHubOverrideCallable.class))
-				.to(IHubTransformer.buildEnhancerProxy(enhancer)));
+		return builder.visit(Advice.to(enhancer.getAdviceClass())
+			.on(not(isStatic()).and(enhancer.getMethodsMatcher())));
 	}
 
 	/**
-	 * 构建增强器代理
+	 * 构建增强器代理，增强器不读取方法参数时使用轻量代理
 	 *
-	 * @param enhancer 增强器
+	 * @param enhancer   增强器
+	 * @param descriptor 增强方法描述
 	 * @return 增强器代理
 	 */
-	private static IHubEnhancerProxy buildEnhancerProxy(IAspectEnhancer enhancer) {
+	private static Object buildEnhancerProxy(IAspectEnhancer enhancer, MethodDescriptor descriptor) {
+		if (!enhancer.requiresArguments()) {
+			IHubEnhancerLiteProxy proxy = new IHubEnhancerLiteProxy();
+			proxy.setEnhancer(enhancer);
+			proxy.setDescriptor(descriptor);
+			return proxy;
+		}
 		IHubEnhancerProxy proxy = new IHubEnhancerProxy();
 		proxy.setEnhancer(enhancer);
+		proxy.setDescriptor(descriptor);
 		return proxy;
 	}
 
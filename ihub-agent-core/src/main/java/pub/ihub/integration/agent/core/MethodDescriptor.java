@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import pub.ihub.integration.core.Logger;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 增强方法描述
+ * <p>
+ * 在类增强时为每个被拦截的方法预先构建，拦截时直接传递给增强器，替代反射 {@link Method}。
+ * 声明类及参数类型在首次调用时由代理绑定，此后调用不再访问反射元数据。
+ * 绑定结果仅由声明类经 {@link ClassValue} 强引用，方法描述自身以弱引用持有，
+ * 注册表中的方法描述不会阻止增强类及其类加载器被回收。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class MethodDescriptor {
+
+	/**
+	 * 未注册的方法描述编号
+	 */
+	public static final int UNREGISTERED = -1;
+	/**
+	 * 各声明类的绑定结果，随声明类回收
+	 */
+	private static final ClassValue<List<Binding>> BINDINGS = new ClassValue<>() {
+		@Override
+		protected List<Binding> computeValue(Class<?> type) {
+			return new CopyOnWriteArrayList<>();
+		}
+	};
+
+	/**
+	 * 编号，内联增强据此检索方法描述，可作为指标等场景的轻量键；代理委托增强不注册，编号为 {@link #UNREGISTERED}
+	 */
+	private final int id;
+	/**
+	 * 声明类名
+	 */
+	private final String declaringClassName;
+	/**
+	 * 方法名
+	 */
+	private final String name;
+	/**
+	 * 操作名，格式为：声明类名.方法名
+	 */
+	private final String operationName;
+	/**
+	 * 参数类型名，用于按声明类绑定反射元数据
+	 */
+	private final String[] parameterTypeNames;
+	/**
+	 * 绑定结果的弱引用，未绑定时为 null
+	 */
+	private volatile Reference<Binding> binding;
+	/**
+	 * 按声明类绑定是否失败
+	 */
+	private volatile boolean unresolved;
+
+	MethodDescriptor(int id, String declaringClassName, String name, String[] parameterTypeNames) {
+		this.id = id;
+		this.declaringClassName = declaringClassName;
+		this.name = name;
+		this.operationName = declaringClassName + "." + name;
+		this.parameterTypeNames = parameterTypeNames;
+	}
+
+	/**
+	 * 是否已绑定反射元数据
+	 *
+	 * @return 是否已绑定
+	 */
+	boolean isBound() {
+		return binding() != null;
+	}
+
+	/**
+	 * 绑定反射元数据，重复绑定结果一致
+	 *
+	 * @param method 方法
+	 */
+	void bind(Method method) {
+		Binding bound = new Binding(method.getDeclaringClass(), method.getParameterTypes());
+		BINDINGS.get(bound.declaringClass).add(bound);
+		binding = new WeakReference<>(bound);
+	}
+
+	private Binding binding() {
+		Reference<Binding> reference = binding;
+		return reference == null ? null : reference.get();
+	}
+
+	/**
+	 * 按声明类查找方法并绑定反射元数据，用于无法直接获得 {@link Method} 的内联增强
+	 * <p>
+	 * 声明类中不存在名称与参数类型一致的方法时绑定失败，仅首次失败时记录错误，此后直接返回 false。
+	 *
+	 * @param type 声明类
+	 * @return 是否绑定成功
+	 */
+	boolean bind(Class<?> type) {
+		if (unresolved) {
+			return false;
+		}
+		for (Method method : type.getDeclaredMethods()) {
+			if (method.getName().equals(name) && matchesParameterTypes(method.getParameterTypes())) {
+				bind(method);
+				return true;
+			}
+		}
+		unresolved = true;
+		Logger.error("MethodDescriptor bind failure, [%s(%s)] not declared by %s", operationName,
+			String.join(", ", parameterTypeNames), type.getName());
+		return false;
+	}
+
+	private boolean matchesParameterTypes(Class<?>[] types) {
+		if (types.length != parameterTypeNames.length) {
+			return false;
+		}
+		for (int i = 0; i < types.length; i++) {
+			if (!types[i].getName().equals(parameterTypeNames[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 获取编号
+	 *
+	 * @return 编号
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * 获取声明类名
+	 *
+	 * @return 声明类名
+	 */
+	public String getDeclaringClassName() {
+		return declaringClassName;
+	}
+
+	/**
+	 * 获取方法名
+	 *
+	 * @return 方法名
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 获取操作名
+	 *
+	 * @return 操作名
+	 */
+	public String getOperationName() {
+		return operationName;
+	}
+
+	/**
+	 * 获取声明类，首次调用前为 null
+	 *
+	 * @return 声明类
+	 */
+	public Class<?> getDeclaringClass() {
+		Binding bound = binding();
+		return bound == null ? null : bound.declaringClass;
+	}
+
+	/**
+	 * 获取参数类型，各次调用共享同一数组，调用方不可修改；首次调用前为 null
+	 *
+	 * @return 参数类型
+	 */
+	public Class<?>[] getParameterTypes() {
+		Binding bound = binding();
+		return bound == null ? null : bound.parameterTypes;
+	}
+
+	@Override
+	public String toString() {
+		return operationName + "#" + id;
+	}
+
+	/**
+	 * 绑定结果
+	 *
+	 * @param declaringClass 声明类
+	 * @param parameterTypes 参数类型
+	 */
+	private record Binding(Class<?> declaringClass, Class<?>[] parameterTypes) {
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 增强方法描述注册表
+ * <p>
+ * 内联增强时注册被拦截的方法，内联代码按编号检索；代理委托增强直接持有方法描述，不注册。
+ * 内联注册在 {@link Scope} 内按类加载器与方法去重，同一类重转换时复用编号。
+ * 类加载器被回收后其注册的编号不再被任何类引用，在作用域下次注册时释放并复用，应用重新部署不会使注册表持续增长；
+ * 作用域释放时已增强的类可能尚未恢复，编号不再复用，注册表大小以同时存活的注册数加历次作用域释放的注册数为上限。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class MethodDescriptorRegistry {
+
+	/**
+	 * 初始容量
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	/**
+	 * 已注册的方法描述，下标即编号
+	 */
+	private static volatile MethodDescriptor[] DESCRIPTORS = new MethodDescriptor[INITIAL_CAPACITY];
+	/**
+	 * 已分配的编号数量，即下一个新编号
+	 */
+	private static int SIZE;
+	/**
+	 * 可复用的编号
+	 */
+	private static int[] FREE_IDS = new int[INITIAL_CAPACITY];
+	/**
+	 * 可复用的编号数量
+	 */
+	private static int FREE_SIZE;
+
+	private MethodDescriptorRegistry() {
+	}
+
+	/**
+	 * 构建不注册的方法描述，用于代理委托增强
+	 *
+	 * @param typeDescription 增强类
+	 * @param method          增强方法
+	 * @return 方法描述
+	 */
+	public static MethodDescriptor describe(TypeDescription typeDescription, MethodDescription method) {
+		return newDescriptor(MethodDescriptor.UNREGISTERED, typeDescription, method);
+	}
+
+	/**
+	 * 注册方法描述
+	 *
+	 * @param typeDescription 增强类
+	 * @param method          增强方法
+	 * @return 方法描述
+	 */
+	public static synchronized MethodDescriptor register(TypeDescription typeDescription, MethodDescription method) {
+		if (FREE_SIZE > 0) {
+			MethodDescriptor descriptor = newDescriptor(FREE_IDS[--FREE_SIZE], typeDescription, method);
+			DESCRIPTORS[descriptor.getId()] = descriptor;
+			return descriptor;
+		}
+		MethodDescriptor descriptor = newDescriptor(SIZE, typeDescription, method);
+		MethodDescriptor[] descriptors = DESCRIPTORS;
+		if (SIZE == descriptors.length) {
+			descriptors = Arrays.copyOf(descriptors, SIZE << 1);
+		}
+		descriptors[SIZE++] = descriptor;
+		DESCRIPTORS = descriptors;
+		return descriptor;
+	}
+
+	/**
+	 * 释放方法描述，释放后该编号不再复用
+	 *
+	 * @param id 编号
+	 */
+	static synchronized void release(int id) {
+		MethodDescriptor[] descriptors = DESCRIPTORS;
+		if (id >= 0 && id < descriptors.length) {
+			descriptors[id] = null;
+		}
+	}
+
+	/**
+	 * 释放方法描述并复用其编号，仅用于已无类引用该编号的场景
+	 *
+	 * @param id 编号
+	 */
+	static synchronized void recycle(int id) {
+		MethodDescriptor[] descriptors = DESCRIPTORS;
+		if (id < 0 || id >= descriptors.length || descriptors[id] == null) {
+			return;
+		}
+		descriptors[id] = null;
+		if (FREE_SIZE == FREE_IDS.length) {
+			FREE_IDS = Arrays.copyOf(FREE_IDS, FREE_SIZE << 1);
+		}
+		FREE_IDS[FREE_SIZE++] = id;
+	}
+
+	private static MethodDescriptor newDescriptor(int id, TypeDescription typeDescription, MethodDescription method) {
+		String[] parameterTypeNames = method.getParameters().asTypeList().asErasures().stream()
+			.map(TypeDescription::getName).toArray(String[]::new);
+		return new MethodDescriptor(id, typeDescription.getName(), method.getName(), parameterTypeNames);
+	}
+
+	/**
+	 * 按编号获取方法描述
+	 *
+	 * @param id 编号
+	 * @return 方法描述，不存在时返回 null
+	 */
+	public static MethodDescriptor get(int id) {
+		MethodDescriptor[] descriptors = DESCRIPTORS;
+		return id >= 0 && id < descriptors.length ? descriptors[id] : null;
+	}
+
+	/**
+	 * 已注册数量，不含待复用的编号
+	 *
+	 * @return 数量
+	 */
+	public static synchronized int size() {
+		return SIZE - FREE_SIZE;
+	}
+
+	/**
+	 * 内联注册作用域
+	 * <p>
+	 * 同一作用域内，同一类加载器中同一方法仅注册一次，类重转换时复用编号并更新增强器；
+	 * 类加载器被回收后，其方法描述与增强器在下次注册时释放，编号交由注册表复用；
+	 * 转换器重置后调用 {@link #release()} 释放作用域内的方法描述与增强器。
+	 */
+	public static final class Scope {
+
+		/**
+		 * 各类加载器的注册项，键为增强类的类加载器
+		 */
+		private final Map<ClassLoader, Registrations> registrations = new WeakHashMap<>();
+		/**
+		 * 未释放的注册项，保证类加载器回收后注册项仍可从引用队列取出
+		 */
+		private final Set<Registrations> live = new HashSet<>();
+		/**
+		 * 已回收类加载器的注册项
+		 */
+		private final ReferenceQueue<ClassLoader> collected = new ReferenceQueue<>();
+		/**
+		 * 作用域内注册的数量
+		 */
+		private int size;
+
+		/**
+		 * 注册内联增强方法及其增强器，已注册时复用
+		 *
+		 * @param loader          增强类的类加载器
+		 * @param typeDescription 增强类
+		 * @param method          增强方法
+		 * @param enhancer        增强器
+		 * @return 方法描述
+		 */
+		synchronized MethodDescriptor register(ClassLoader loader, TypeDescription typeDescription, MethodDescription method,
+											   IAspectEnhancer enhancer) {
+			expungeCollected();
+			Registrations loaderRegistrations = registrations.get(loader);
+			if (loaderRegistrations == null) {
+				loaderRegistrations = new Registrations(loader, collected);
+				registrations.put(loader, loaderRegistrations);
+				live.add(loaderRegistrations);
+			}
+			String key = typeDescription.getName() + '#' + method.getInternalName() + method.getDescriptor();
+			MethodDescriptor descriptor = loaderRegistrations.descriptors.get(key);
+			if (descriptor == null) {
+				descriptor = MethodDescriptorRegistry.register(typeDescription, method);
+				loaderRegistrations.descriptors.put(key, descriptor);
+				size++;
+			}
+			IHubEnhancerDispatcher.register(descriptor, enhancer);
+			return descriptor;
+		}
+
+		/**
+		 * 释放作用域内注册的方法描述与增强器，已进入的内联调用仍按进入时的增强器退出
+		 */
+		public synchronized void release() {
+			for (Registrations loaderRegistrations : live) {
+				// 清除引用，类加载器此后被回收时不再复用已释放的编号
+				loaderRegistrations.clear();
+				for (MethodDescriptor descriptor : loaderRegistrations.descriptors.values()) {
+					IHubEnhancerDispatcher.release(descriptor.getId());
+					MethodDescriptorRegistry.release(descriptor.getId());
+				}
+			}
+			live.clear();
+			registrations.clear();
+			size = 0;
+		}
+
+		/**
+		 * 作用域内注册的数量，不含已回收类加载器的注册
+		 *
+		 * @return 数量
+		 */
+		public synchronized int size() {
+			expungeCollected();
+			return size;
+		}
+
+		/**
+		 * 释放已回收类加载器的注册，其增强类均已卸载，编号可安全复用
+		 */
+		private void expungeCollected() {
+			for (Reference<? extends ClassLoader> reference; (reference = collected.poll()) != null; ) {
+				Registrations loaderRegistrations = (Registrations) reference;
+				if (live.remove(loaderRegistrations)) {
+					for (MethodDescriptor descriptor : loaderRegistrations.descriptors.values()) {
+						IHubEnhancerDispatcher.release(descriptor.getId());
+						MethodDescriptorRegistry.recycle(descriptor.getId());
+					}
+					size -= loaderRegistrations.descriptors.size();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * 类加载器的注册项，弱引用类加载器，类加载器被回收后进入引用队列
+	 */
+	private static final class Registrations extends WeakReference<ClassLoader> {
+
+		/**
+		 * 已注册的方法描述，键为类名与方法签名
+		 */
+		private final Map<String, MethodDescriptor> descriptors = new HashMap<>();
+
+		private Registrations(ClassLoader loader, ReferenceQueue<ClassLoader> queue) {
+			super(loader, loader == null ? null : queue);
+		}
+
+	}
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import java.util.Arrays;
+
+/**
+ * 方法调用上下文
+ * <p>
+ * 在 {@link IAspectEnhancer#beforeMethod} 中调用 {@link #skip(Object)} 可截断原方法调用，直接以指定结果返回，
+ * 用于实现响应缓存、熔断等场景。
+ * <p>
+ * 同一次调用的 beforeMethod、handleMethodException 与 afterMethod 收到同一上下文，
+ * 增强器可通过 {@link #setAttachment(Object)} 在 beforeMethod 中保存本次调用的状态（如 Span、Scope），
+ * 在方法退出时读取，无需借助 ThreadLocal；增强器链中每个增强器拥有独立的附件槽位。
+ * <p>
+ * 上下文按线程复用，仅在本次拦截期间有效，增强器不可在回调结束后持有；调用结束时附件被清除。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class MethodInvocationContext {
+
+	/**
+	 * 线程复用的上下文栈，嵌套拦截时按深度取用
+	 */
+	private static final ThreadLocal<Stack> STACK = ThreadLocal.withInitial(Stack::new);
+
+	/**
+	 * 所属的上下文栈
+	 */
+	private final Stack stack;
+	/**
+	 * 是否截断原方法调用
+	 */
+	private boolean skipped;
+	/**
+	 * 截断时的返回值
+	 */
+	private Object result;
+	/**
+	 * 调用附件，按增强器槽位存放
+	 */
+	private Object[] attachments = new Object[1];
+	/**
+	 * 当前增强器的附件槽位
+	 */
+	private int slot;
+	/**
+	 * 是否设置过附件
+	 */
+	private boolean attached;
+	/**
+	 * 增强器链中已执行 beforeMethod 的增强器数量
+	 */
+	private int entered;
+	/**
+	 * 内联增强进入时解析的方法描述，方法退出时沿用
+	 */
+	MethodDescriptor descriptor;
+	/**
+	 * 内联增强进入时解析的增强器，方法退出时沿用
+	 */
+	IAspectEnhancer enhancer;
+
+	private MethodInvocationContext(Stack stack) {
+		this.stack = stack;
+	}
+
+	/**
+	 * 获取当前线程的上下文
+	 *
+	 * @return 上下文
+	 */
+	static MethodInvocationContext acquire() {
+		return STACK.get().push();
+	}
+
+	/**
+	 * 归还上下文，清除截断结果与附件
+	 *
+	 * @param context 上下文
+	 */
+	static void release(MethodInvocationContext context) {
+		context.skipped = false;
+		context.result = null;
+		context.slot = 0;
+		context.entered = 0;
+		context.descriptor = null;
+		context.enhancer = null;
+		if (context.attached) {
+			Arrays.fill(context.attachments, null);
+			context.attached = false;
+		}
+		context.stack.pop();
+	}
+
+	/**
+	 * 切换当前增强器的附件槽位
+	 *
+	 * @param slot 槽位
+	 */
+	void selectSlot(int slot) {
+		this.slot = slot;
+	}
+
+	/**
+	 * 记录增强器链中已执行 beforeMethod 的增强器数量
+	 *
+	 * @param entered 数量
+	 */
+	void entered(int entered) {
+		this.entered = entered;
+	}
+
+	/**
+	 * 增强器链中已执行 beforeMethod 的增强器数量
+	 *
+	 * @return 数量
+	 */
+	int entered() {
+		return entered;
+	}
+
+	/**
+	 * 设置当前增强器本次调用的附件
+	 *
+	 * @param attachment 附件
+	 */
+	public void setAttachment(Object attachment) {
+		if (slot >= attachments.length) {
+			attachments = Arrays.copyOf(attachments, slot + 1);
+		}
+		attachments[slot] = attachment;
+		attached = true;
+	}
+
+	/**
+	 * 获取当前增强器本次调用的附件
+	 *
+	 * @return 附件，未设置时为 null
+	 */
+	public Object getAttachment() {
+		return slot < attachments.length ? attachments[slot] : null;
+	}
+
+	/**
+	 * 截断原方法调用，以指定结果返回
+	 * <p>
+	 * 结果须可赋值给原方法返回类型，原方法返回基本类型时不可为 null。
+	 *
+	 * @param result 返回值
+	 */
+	public void skip(Object result) {
+		this.skipped = true;
+		this.result = result;
+	}
+
+	/**
+	 * 是否截断原方法调用
+	 *
+	 * @return 是否截断
+	 */
+	public boolean isSkipped() {
+		return skipped;
+	}
+
+	/**
+	 * 获取截断时的返回值
+	 *
+	 * @return 返回值
+	 */
+	public Object getResult() {
+		return result;
+	}
+
+	/**
+	 * 上下文栈
+	 */
+	private static final class Stack {
+
+		private MethodInvocationContext[] contexts = new MethodInvocationContext[4];
+		private int depth;
+
+		MethodInvocationContext push() {
+			if (depth == contexts.length) {
+				contexts = Arrays.copyOf(contexts, depth << 1);
+			}
+			MethodInvocationContext context = contexts[depth];
+			if (context == null) {
+				context = new MethodInvocationContext(this);
+				contexts[depth] = context;
+			}
+			depth++;
+			return context;
+		}
+
+		void pop() {
+			depth--;
+		}
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.cache;
+
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+import java.util.function.Predicate;
+
+/**
+ * 带字节码缓存的类文件转换器
+ * <p>
+ * 可缓存的类先按原始字节码查询 {@link TransformedClassCache}，命中时直接返回缓存的增强字节码，不再经过Byte Buddy；
+ * 未命中时交由被装饰的转换器增强并写入缓存。转换失败或无需增强的类不写入缓存，下次启动重新转换。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class CachingClassFileTransformer extends ResettableClassFileTransformer.WithDelegation {
+
+	/**
+	 * 增强类字节码缓存
+	 */
+	private final TransformedClassCache cache;
+	/**
+	 * 按类全称判断是否可缓存
+	 */
+	private final Predicate<String> cacheable;
+
+	/**
+	 * 构建带字节码缓存的类文件转换器
+	 *
+	 * @param classFileTransformer 被装饰的转换器
+	 * @param cache                增强类字节码缓存
+	 * @param cacheable            按类全称判断是否可缓存
+	 */
+	public CachingClassFileTransformer(ResettableClassFileTransformer classFileTransformer,
+									   TransformedClassCache cache, Predicate<String> cacheable) {
+		super(classFileTransformer);
+		this.cache = cache;
+		this.cacheable = cacheable;
+	}
+
+	@Override
+	public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+							ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+		return transform(className, classfileBuffer, () -> classFileTransformer.transform(
+			loader, className, classBeingRedefined, protectionDomain, classfileBuffer));
+	}
+
+	@Override
+	public byte[] transform(Module module, ClassLoader loader, String className, Class<?> classBeingRedefined,
+							ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+		return transform(className, classfileBuffer, () -> classFileTransformer.transform(
+			module, loader, className, classBeingRedefined, protectionDomain, classfileBuffer));
+	}
+
+	private byte[] transform(String className, byte[] classfileBuffer, Transformation transformation)
+		throws IllegalClassFormatException {
+		if (className == null || !cacheable.test(className.replace('/', '.'))) {
+			return transformation.apply();
+		}
+		TransformedClassCache.Key key = cache.key(className, classfileBuffer);
+		byte[] cached = cache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		byte[] transformed = transformation.apply();
+		if (transformed != null) {
+			cache.put(key, transformed);
+		}
+		return transformed;
+	}
+
+	/**
+	 * 被装饰转换器的一次转换
+	 */
+	@FunctionalInterface
+	private interface Transformation {
+
+		byte[] apply() throws IllegalClassFormatException;
+
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.cache;
+
+import pub.ihub.integration.core.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 增强类字节码缓存
+ * <p>
+ * 以原始类字节码的SHA-256摘要为键，缓存增强后的字节码，跨JVM重启复用；缓存文件按增强器集合版本区分，
+ * 增强器集合变化后自动使用新文件。启动时以内存映射方式读取缓存文件并建立索引，
+ * 运行期新增的条目保留于内存，{@link #flush()} 时与已有条目一起写入临时文件后原子替换。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class TransformedClassCache {
+
+	/**
+	 * 文件魔数
+	 */
+	private static final int MAGIC = 0x49484331;
+	/**
+	 * 摘要算法
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	/**
+	 * 摘要长度
+	 */
+	private static final int KEY_LENGTH = 32;
+
+	/**
+	 * 缓存文件
+	 */
+	private final Path file;
+	/**
+	 * 缓存文件映射
+	 */
+	private final MappedByteBuffer mapped;
+	/**
+	 * 已有条目索引，值为条目在映射中的偏移与长度
+	 */
+	private final Map<Key, long[]> index;
+	/**
+	 * 运行期新增条目
+	 */
+	private final Map<Key, byte[]> pending = new ConcurrentHashMap<>();
+	/**
+	 * 命中次数
+	 */
+	private final LongAdder hits = new LongAdder();
+	/**
+	 * 未命中次数
+	 */
+	private final LongAdder misses = new LongAdder();
+	/**
+	 * 上次持久化时的新增条目数
+	 */
+	private int flushed;
+
+	private TransformedClassCache(Path file, MappedByteBuffer mapped, Map<Key, long[]> index) {
+		this.file = file;
+		this.mapped = mapped;
+		this.index = index;
+	}
+
+	/**
+	 * 打开缓存，缓存文件不存在或已损坏时以空缓存启动
+	 *
+	 * @param directory 缓存目录
+	 * @param version   增强器集合版本
+	 * @return 增强类字节码缓存
+	 * @throws IOException 缓存目录不可用
+	 */
+	public static TransformedClassCache open(Path directory, String version) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve("ihub-agent-" + version + ".cache");
+		if (Files.isRegularFile(file)) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				return new TransformedClassCache(file, mapped, readIndex(mapped));
+			} catch (IOException | RuntimeException e) {
+				Logger.warn("Transformed class cache %s is unreadable and will be rebuilt: %s", file, e.getMessage());
+			}
+		}
+		return new TransformedClassCache(file, null, new HashMap<>());
+	}
+
+	private static Map<Key, long[]> readIndex(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 8 || buffer.getInt(0) != MAGIC) {
+			throw new IOException("bad header");
+		}
+		int count = buffer.getInt(4);
+		Map<Key, long[]> index = new HashMap<>(count * 4 / 3 + 1);
+		int position = 8;
+		for (int i = 0; i < count; i++) {
+			byte[] key = new byte[KEY_LENGTH];
+			buffer.get(position, key);
+			int length = buffer.getInt(position + KEY_LENGTH);
+			int offset = position + KEY_LENGTH + 4;
+			if (length < 0 || offset + length > buffer.limit()) {
+				throw new IOException("truncated entry " + i);
+			}
+			index.put(new Key(key), new long[]{offset, length});
+			position = offset + length;
+		}
+		return index;
+	}
+
+	/**
+	 * 计算缓存键
+	 *
+	 * @param className       类名
+	 * @param classfileBuffer 原始类字节码
+	 * @return 缓存键
+	 */
+	public Key key(String className, byte[] classfileBuffer) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			digest.update(className.getBytes(StandardCharsets.UTF_8));
+			digest.update(classfileBuffer);
+			return new Key(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 查询缓存
+	 *
+	 * @param key 缓存键
+	 * @return 增强后的字节码，未命中时为 null
+	 */
+	public byte[] get(Key key) {
+		byte[] bytes = pending.get(key);
+		if (bytes == null) {
+			long[] entry = index.get(key);
+			if (entry != null) {
+				bytes = new byte[(int) entry[1]];
+				mapped.get((int) entry[0], bytes);
+			}
+		}
+		if (bytes == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return bytes;
+	}
+
+	/**
+	 * 写入缓存
+	 *
+	 * @param key   缓存键
+	 * @param bytes 增强后的字节码
+	 */
+	public void put(Key key, byte[] bytes) {
+		if (!index.containsKey(key)) {
+			pending.put(key, bytes);
+		}
+	}
+
+	/**
+	 * 将新增条目持久化至缓存文件
+	 *
+	 * @throws IOException 写入失败
+	 */
+	public synchronized void flush() throws IOException {
+		Map<Key, byte[]> added = new HashMap<>(pending);
+		if (added.size() == flushed) {
+			return;
+		}
+		Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+		try (OutputStream os = Files.newOutputStream(temp);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+			out.writeInt(MAGIC);
+			out.writeInt(index.size() + added.size());
+			for (Map.Entry<Key, long[]> entry : index.entrySet()) {
+				byte[] bytes = new byte[(int) entry.getValue()[1]];
+				mapped.get((int) entry.getValue()[0], bytes);
+				writeEntry(out, entry.getKey(), bytes);
+			}
+			for (Map.Entry<Key, byte[]> entry : added.entrySet()) {
+				writeEntry(out, entry.getKey(), entry.getValue());
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		Logger.info("Transformed class cache %s saved, %d entries added, hits = %d, misses = %d",
+			file, added.size() - flushed, getHitCount(), getMissCount());
+		flushed = added.size();
+	}
+
+	private static void writeEntry(DataOutputStream out, Key key, byte[] bytes) throws IOException {
+		out.write(key.digest);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * 缓存命中次数
+	 *
+	 * @return 命中次数
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * 缓存未命中次数
+	 *
+	 * @return 未命中次数
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * 缓存条目数
+	 *
+	 * @return 条目数
+	 */
+	public int size() {
+		return index.size() + pending.size();
+	}
+
+	/**
+	 * 缓存键
+	 */
+	public static final class Key {
+
+		private final byte[] digest;
+		private final int hash;
+
+		private Key(byte[] digest) {
+			this.digest = digest;
+			this.hash = Arrays.hashCode(digest);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key key && Arrays.equals(digest, key.digest);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+}
@@ -15,43 +15,45 @@
  */
 package pub.ihub.integration.agent.core.loader;
 
+import lombok.SneakyThrows;
 import pub.ihub.integration.core.Logger;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.net.URL;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
+import java.security.ProtectionDomain;
 import java.util.List;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 代理插件类加载器
+ * <p>
+ * 按 {@link PluginJarIndex} 仅在拥有目标包的插件 jar 中查找类，从已打开的 jar 按条目大小一次读取字节码。
+ * 默认使用共享的默认索引，不同目标类加载器对应的插件类加载器不重复打开 jar。
+ * 注册为并行加载器，不同类的加载互不阻塞。
  *
  * @author henry
  * @since 2024/3/30
  */
 public class AgentPluginClassLoader extends ClassLoader {
 
+	static {
+		registerAsParallelCapable();
+	}
+
 	/**
 	 * 默认加载器
 	 */
 	private static AgentPluginClassLoader DEFAULT_LOADER;
-	/**
-	 * TODO: This path should be configurable
-	 */
-	private static final String PLUGIN_FILE_PATH = "/tmp/ihub-agent-plugin.jar";
 
 	/**
-	 * 类路径
+	 * 插件 jar 包索引
 	 */
-	private final List<File> classpath;
+	private final PluginJarIndex pluginJarIndex;
 	/**
-	 * 所有的 jar
+	 * 由当前加载器加载的增强实例，键为类名
 	 */
-	private final List<Jar> allJars = new LinkedList<>();
+	private final ConcurrentHashMap<String, Object> instances = new ConcurrentHashMap<>();
 
 	/**
 	 * 初始化默认加载器
@@ -67,14 +69,49 @@ public class AgentPluginClassLoader extends ClassLoader {
 	}
 
 	/**
-	 * 构造器
+	 * 构造器，使用默认插件 jar 包索引
 	 *
 	 * @param parent 父加载器
 	 */
 	public AgentPluginClassLoader(ClassLoader parent) {
+		this(parent, PluginJarIndex.getDefault());
+	}
+
+	/**
+	 * 构造器
+	 *
+	 * @param parent    父加载器
+	 * @param classpath 插件 jar，同名条目以靠前者为准
+	 */
+	public AgentPluginClassLoader(ClassLoader parent, List<File> classpath) {
+		this(parent, PluginJarIndex.of(classpath));
+	}
+
+	/**
+	 * 构造器
+	 *
+	 * @param parent         父加载器
+	 * @param pluginJarIndex 插件 jar 包索引
+	 */
+	public AgentPluginClassLoader(ClassLoader parent, PluginJarIndex pluginJarIndex) {
 		super(parent);
-		classpath = new LinkedList<>();
-		classpath.add(new File(PLUGIN_FILE_PATH));
+		this.pluginJarIndex = pluginJarIndex;
+	}
+
+	/**
+	 * 获取由当前加载器加载的增强实例，不存在时创建
+	 *
+	 * @param className 类名
+	 * @return 实例
+	 */
+	Object getInstance(String className) {
+		Object instance = instances.get(className);
+		return instance != null ? instance : instances.computeIfAbsent(className, this::newInstance);
+	}
+
+	@SneakyThrows
+	private Object newInstance(String className) {
+		return Class.forName(className, true, this).getDeclaredConstructor().newInstance();
 	}
 
 	/**
@@ -86,46 +123,16 @@ public class AgentPluginClassLoader extends ClassLoader {
 	 */
 	@Override
 	protected Class<?> findClass(String name) throws ClassNotFoundException {
-		if (allJars.isEmpty()) {
-			try {
-				File file = new File(PLUGIN_FILE_PATH);
-				Jar jar = new Jar(new JarFile(file), file);
-				allJars.add(jar);
-			} catch (IOException e) {
-				Logger.error("failed to load the plugin file, msg = %s", e.getMessage());
-			}
-		}
-
-		String path = name.replace('.', '/').concat(".class");
-		for (Jar jar : allJars) {
-			JarEntry entry = jar.jarFile.getJarEntry(path);
-			if (entry == null) {
-				continue;
-			}
-			try {
-				URL classFileUrl = new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + path);
-				byte[] data;
-				try (final BufferedInputStream is = new BufferedInputStream(
-					classFileUrl.openStream()); final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-					int ch;
-					while ((ch = is.read()) != -1) {
-						baos.write(ch);
-					}
-					data = baos.toByteArray();
-				}
-				return defineClass(name, data, 0, data.length);
-			} catch (IOException e) {
-				Logger.error("find class fail, msg = %s", e.getMessage());
+		try {
+			ByteBuffer data = pluginJarIndex.readBuffer(name.replace('.', '/').concat(".class"));
+			if (data != null) {
+				return defineClass(name, data, (ProtectionDomain) null);
 			}
+		} catch (IOException e) {
+			Logger.error("find class fail, msg = %s", e.getMessage());
 		}
 
 		throw new ClassNotFoundException("Can't find " + name);
 	}
 
-	/**
-	 * 代表一个 jar
-	 */
-	private record Jar(JarFile jarFile, File sourceFile) {
-	}
-
 }
@@ -15,15 +15,22 @@
  */
 package pub.ihub.integration.agent.core.loader;
 
-import lombok.SneakyThrows;
+import pub.ihub.integration.core.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 代理增强实例加载器
+ * <p>
+ * 两级缓存：目标类加载器弱引用映射至其插件类加载器，插件类加载器持有由其加载的增强实例。
+ * 插件类加载器由目标类加载器中定义的锚点类经 {@link ClassValue} 强引用，与目标类加载器同生命周期，
+ * 不会在两次加载之间被回收重建；目标类加载器卸载后整条链路可被回收。
+ * 查找与创建均基于 {@link ConcurrentHashMap}，不同类加载器的并行类加载互不阻塞。
  *
  * @author henry
  * @since 2024/3/30
@@ -31,17 +38,30 @@ import java.util.concurrent.locks.ReentrantLock;
 public class EnhancerInstanceLoader {
 
 	/**
-	 * 实例缓存
+	 * 扩展插件类加载器，键为目标类加载器的弱引用
 	 */
-	private static final ConcurrentHashMap<String, Object> INSTANCE_CACHE = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<LoaderKey, WeakReference<AgentPluginClassLoader>> EXTEND_PLUGIN_CLASSLOADERS = new ConcurrentHashMap<>();
 	/**
-	 * 实例加载锁
+	 * 已回收的目标类加载器
 	 */
-	private static final ReentrantLock INSTANCE_LOAD_LOCK = new ReentrantLock();
+	private static final ReferenceQueue<ClassLoader> STALE_CLASSLOADERS = new ReferenceQueue<>();
 	/**
-	 * 扩展插件类加载器
+	 * 插件类加载器，按目标类加载器中的锚点类存放，由锚点类强引用
 	 */
-	private static final Map<ClassLoader, ClassLoader> EXTEND_PLUGIN_CLASSLOADERS = new HashMap<>();
+	private static final ClassValue<AgentPluginClassLoader> ANCHORED_PLUGIN_CLASSLOADERS = new ClassValue<>() {
+		@Override
+		protected AgentPluginClassLoader computeValue(Class<?> anchor) {
+			return new AgentPluginClassLoader(anchor.getClassLoader());
+		}
+	};
+	/**
+	 * 锚点类实现的接口
+	 */
+	private static final Class<?>[] ANCHOR_INTERFACES = {Runnable.class};
+	/**
+	 * 锚点类实例的调用处理器，锚点实例仅用于定义锚点类，不会被调用
+	 */
+	private static final InvocationHandler ANCHOR_HANDLER = (proxy, method, args) -> null;
 
 	/**
 	 * 加载实例
@@ -51,32 +71,100 @@ public class EnhancerInstanceLoader {
 	 * @param <T>               实例类型
 	 * @return 实例
 	 */
-	@SneakyThrows
+	@SuppressWarnings("unchecked")
 	public static <T> T load(String className, ClassLoader targetClassLoader) {
 		if (targetClassLoader == null) {
 			targetClassLoader = EnhancerInstanceLoader.class.getClassLoader();
 		}
-		String instanceKey = className + "_OF_" + targetClassLoader.getClass()
-			.getName() + "@" + Integer.toHexString(targetClassLoader.hashCode());
+		return (T) pluginClassLoader(targetClassLoader).getInstance(className);
+	}
 
-		Object inst = INSTANCE_CACHE.get(instanceKey);
-		if (inst == null) {
-			ClassLoader pluginLoader;
-			INSTANCE_LOAD_LOCK.lock();
-			try {
-				pluginLoader = EXTEND_PLUGIN_CLASSLOADERS.get(targetClassLoader);
-				if (pluginLoader == null) {
-					pluginLoader = new AgentPluginClassLoader(targetClassLoader);
-					EXTEND_PLUGIN_CLASSLOADERS.put(targetClassLoader, pluginLoader);
-				}
-			} finally {
-				INSTANCE_LOAD_LOCK.unlock();
+	/**
+	 * 获取目标类加载器对应的插件类加载器，不存在或已回收时创建
+	 *
+	 * @param targetClassLoader 目标类加载器
+	 * @return 插件类加载器
+	 */
+	private static AgentPluginClassLoader pluginClassLoader(ClassLoader targetClassLoader) {
+		expungeStaleEntries();
+		WeakReference<AgentPluginClassLoader> reference = EXTEND_PLUGIN_CLASSLOADERS.get(new LoaderKey(targetClassLoader, null));
+		AgentPluginClassLoader pluginLoader = reference == null ? null : reference.get();
+		if (pluginLoader != null) {
+			return pluginLoader;
+		}
+		// 锚点类在映射更新之外定义，避免持有映射桶锁时等待目标类加载器的锁
+		AgentPluginClassLoader anchored = anchoredPluginClassLoader(targetClassLoader);
+		AgentPluginClassLoader[] created = new AgentPluginClassLoader[1];
+		EXTEND_PLUGIN_CLASSLOADERS.compute(new LoaderKey(targetClassLoader, STALE_CLASSLOADERS), (key, existing) -> {
+			AgentPluginClassLoader loader = existing == null ? null : existing.get();
+			if (loader != null) {
+				created[0] = loader;
+				return existing;
 			}
-			inst = Class.forName(className, true, pluginLoader).getDeclaredConstructor().newInstance();
-			INSTANCE_CACHE.put(instanceKey, inst);
+			created[0] = anchored;
+			return new WeakReference<>(anchored);
+		});
+		return created[0];
+	}
+
+	/**
+	 * 创建插件类加载器，并由目标类加载器中定义的锚点类强引用
+	 * <p>
+	 * 锚点类为目标类加载器中定义的动态代理类，由目标类加载器缓存；无法定义时退化为仅由增强实例保持可达。
+	 *
+	 * @param targetClassLoader 目标类加载器
+	 * @return 插件类加载器
+	 */
+	private static AgentPluginClassLoader anchoredPluginClassLoader(ClassLoader targetClassLoader) {
+		Class<?> anchor;
+		try {
+			anchor = Proxy.newProxyInstance(targetClassLoader, ANCHOR_INTERFACES, ANCHOR_HANDLER).getClass();
+		} catch (IllegalArgumentException e) {
+			Logger.debug("Plugin class loader of %s not anchored, msg = %s", targetClassLoader, e.toString());
+			return new AgentPluginClassLoader(targetClassLoader);
+		}
+		return ANCHORED_PLUGIN_CLASSLOADERS.get(anchor);
+	}
+
+	/**
+	 * 清理已回收的目标类加载器
+	 */
+	private static void expungeStaleEntries() {
+		Reference<? extends ClassLoader> reference;
+		while ((reference = STALE_CLASSLOADERS.poll()) != null) {
+			EXTEND_PLUGIN_CLASSLOADERS.remove(reference);
+		}
+	}
+
+	/**
+	 * 目标类加载器弱引用键，按类加载器实例判等
+	 */
+	private static final class LoaderKey extends WeakReference<ClassLoader> {
+
+		private final int hash;
+
+		LoaderKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+			super(classLoader, queue);
+			this.hash = System.identityHashCode(classLoader);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof LoaderKey key)) {
+				return false;
+			}
+			ClassLoader classLoader = get();
+			return classLoader != null && classLoader == key.get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
 		}
 
-		return (T) inst;
 	}
 
 }
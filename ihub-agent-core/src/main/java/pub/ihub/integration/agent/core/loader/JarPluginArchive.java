@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 基于 {@link JarFile} 的插件归档，按条目大小一次读取
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+final class JarPluginArchive implements PluginArchive {
+
+	/**
+	 * 插件 jar
+	 */
+	private final JarFile jarFile;
+
+	JarPluginArchive(File file) throws IOException {
+		this.jarFile = new JarFile(file);
+	}
+
+	@Override
+	public Iterable<String> entryNames() {
+		List<String> names = new ArrayList<>(jarFile.size());
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			if (!entry.isDirectory()) {
+				names.add(entry.getName());
+			}
+		}
+		return names;
+	}
+
+	@Override
+	public ByteBuffer read(String entryName) throws IOException {
+		JarEntry entry = jarFile.getJarEntry(entryName);
+		if (entry == null) {
+			return null;
+		}
+		try (InputStream is = jarFile.getInputStream(entry)) {
+			long size = entry.getSize();
+			return ByteBuffer.wrap(size >= 0 ? is.readNBytes((int) size) : is.readAllBytes());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		jarFile.close();
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * 基于内存映射的插件归档
+ * <p>
+ * 打开时映射整个 jar 并一次解析中央目录，条目的压缩方式、大小与本地文件头偏移保存在堆外偏移表中，
+ * 映射建立后即关闭文件通道，不再占用文件描述符。
+ * 未压缩条目直接返回映射区切片，压缩条目自映射区直接解压。不支持 ZIP64 与多卷归档。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+final class MappedPluginArchive implements PluginArchive {
+
+	private static final int LOC_SIG = 0x04034b50;
+	private static final int CEN_SIG = 0x02014b50;
+	private static final int END_SIG = 0x06054b50;
+	private static final int LOC_HEADER = 30;
+	private static final int CEN_HEADER = 46;
+	private static final int END_HEADER = 22;
+	private static final int MAX_COMMENT = 0xFFFF;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	/**
+	 * 偏移表每个条目占用的字节数：压缩方式、压缩大小、原始大小、本地文件头偏移
+	 */
+	private static final int SLOT = 16;
+
+	/**
+	 * 插件 jar 映射区，小端序
+	 */
+	private final ByteBuffer mapped;
+	/**
+	 * 条目名到偏移表序号
+	 */
+	private final Map<String, Integer> entries;
+	/**
+	 * 堆外偏移表
+	 */
+	private final ByteBuffer table;
+
+	private MappedPluginArchive(ByteBuffer mapped, Map<String, Integer> entries, ByteBuffer table) {
+		this.mapped = mapped;
+		this.entries = entries;
+		this.table = table;
+	}
+
+	static MappedPluginArchive open(File file) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new ZipException("plugin file too large: " + file);
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		ByteBuffer mapped = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		int end = findEnd(mapped);
+		int total = Short.toUnsignedInt(mapped.getShort(end + 10));
+		long cenSize = Integer.toUnsignedLong(mapped.getInt(end + 12));
+		long cenOffset = Integer.toUnsignedLong(mapped.getInt(end + 16));
+		if (total == 0xFFFF || cenOffset == 0xFFFFFFFFL || cenOffset + cenSize > end) {
+			throw new ZipException("unsupported central directory: " + file);
+		}
+
+		Map<String, Integer> entries = new HashMap<>(total * 4 / 3 + 1);
+		ByteBuffer table = ByteBuffer.allocateDirect(total * SLOT).order(ByteOrder.LITTLE_ENDIAN);
+		int position = (int) cenOffset;
+		for (int i = 0; i < total; i++) {
+			checkBounds(position, CEN_HEADER, end, "central directory header");
+			if (mapped.getInt(position) != CEN_SIG) {
+				throw new ZipException("invalid central directory header: " + file);
+			}
+			int method = Short.toUnsignedInt(mapped.getShort(position + 10));
+			int compressedSize = mapped.getInt(position + 20);
+			int size = mapped.getInt(position + 24);
+			int nameLength = Short.toUnsignedInt(mapped.getShort(position + 28));
+			int extraLength = Short.toUnsignedInt(mapped.getShort(position + 30));
+			int commentLength = Short.toUnsignedInt(mapped.getShort(position + 32));
+			int localOffset = mapped.getInt(position + 42);
+			if (compressedSize == -1 || size == -1 || localOffset == -1) {
+				throw new ZipException("ZIP64 entries are not supported: " + file);
+			}
+			if (compressedSize < 0 || size < 0 || localOffset < 0 || localOffset >= cenOffset) {
+				throw new ZipException("invalid central directory entry: " + file);
+			}
+			checkBounds(position + CEN_HEADER, nameLength, end, "entry name");
+			byte[] name = new byte[nameLength];
+			mapped.get(position + CEN_HEADER, name);
+			if (nameLength > 0 && name[nameLength - 1] != '/') {
+				int slot = entries.size();
+				table.putInt(slot * SLOT, method)
+					.putInt(slot * SLOT + 4, compressedSize)
+					.putInt(slot * SLOT + 8, size)
+					.putInt(slot * SLOT + 12, localOffset);
+				entries.putIfAbsent(new String(name, StandardCharsets.UTF_8), slot);
+			}
+			position += CEN_HEADER + nameLength + extraLength + commentLength;
+		}
+		return new MappedPluginArchive(mapped, entries, table);
+	}
+
+	/**
+	 * 自文件末尾向前查找中央目录结束记录
+	 */
+	private static int findEnd(ByteBuffer mapped) throws ZipException {
+		if (mapped.limit() < END_HEADER) {
+			throw new ZipException("end of central directory not found");
+		}
+		int limit = Math.max(0, mapped.limit() - END_HEADER - MAX_COMMENT);
+		for (int position = mapped.limit() - END_HEADER; position >= limit; position--) {
+			if (mapped.getInt(position) == END_SIG) {
+				return position;
+			}
+		}
+		throw new ZipException("end of central directory not found");
+	}
+
+	@Override
+	public Iterable<String> entryNames() {
+		return entries.keySet();
+	}
+
+	@Override
+	public ByteBuffer read(String entryName) throws IOException {
+		Integer slot = entries.get(entryName);
+		if (slot == null) {
+			return null;
+		}
+		int base = slot * SLOT;
+		int method = table.getInt(base);
+		int compressedSize = table.getInt(base + 4);
+		int size = table.getInt(base + 8);
+		int localOffset = table.getInt(base + 12);
+		checkBounds(localOffset, LOC_HEADER, mapped.limit(), "local header of " + entryName);
+		if (mapped.getInt(localOffset) != LOC_SIG) {
+			throw new ZipException("invalid local header: " + entryName);
+		}
+		int dataOffset = localOffset + LOC_HEADER
+			+ Short.toUnsignedInt(mapped.getShort(localOffset + 26))
+			+ Short.toUnsignedInt(mapped.getShort(localOffset + 28));
+		checkBounds(dataOffset, compressedSize, mapped.limit(), "data of " + entryName);
+		ByteBuffer data = mapped.slice(dataOffset, compressedSize);
+		if (method == STORED) {
+			return data;
+		}
+		if (method != DEFLATED) {
+			throw new ZipException("unsupported compression method " + method + ": " + entryName);
+		}
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(data);
+			byte[] bytes = new byte[size];
+			int length = 0;
+			while (length < size && !inflater.finished()) {
+				int n = inflater.inflate(bytes, length, size - length);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new ZipException("truncated entry: " + entryName);
+				}
+				length += n;
+			}
+			return ByteBuffer.wrap(bytes, 0, length);
+		} catch (DataFormatException e) {
+			throw new ZipException("invalid entry " + entryName + ": " + e.getMessage());
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * 校验区间位于映射区的有效范围内，越界时以 {@link ZipException} 报告损坏的归档而非越界异常
+	 *
+	 * @param offset 起始偏移
+	 * @param length 长度
+	 * @param limit  有效范围上限
+	 * @param what   区间描述
+	 * @throws ZipException 区间越界
+	 */
+	private static void checkBounds(int offset, long length, int limit, String what) throws ZipException {
+		if (offset < 0 || offset + length > limit) {
+			throw new ZipException("corrupt " + what + ": offset " + offset + ", length " + length + ", limit " + limit);
+		}
+	}
+
+	/**
+	 * 映射区随本对象回收释放，无需显式关闭
+	 */
+	@Override
+	public void close() {
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import pub.ihub.integration.core.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 插件归档
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+interface PluginArchive extends Closeable {
+
+	/**
+	 * 打开插件归档
+	 *
+	 * @param file   插件 jar
+	 * @param mapped 是否以内存映射方式读取，映射失败时回退至 {@link java.util.jar.JarFile}
+	 * @return 插件归档
+	 * @throws IOException 打开失败
+	 */
+	static PluginArchive open(File file, boolean mapped) throws IOException {
+		if (mapped) {
+			try {
+				return MappedPluginArchive.open(file);
+			} catch (IOException e) {
+				Logger.warn("Plugin file %s can not be mapped, fall back to JarFile, msg = %s", file, e.getMessage());
+			}
+		}
+		return new JarPluginArchive(file);
+	}
+
+	/**
+	 * 所有文件条目名
+	 *
+	 * @return 条目名
+	 */
+	Iterable<String> entryNames();
+
+	/**
+	 * 读取条目内容
+	 *
+	 * @param entryName 条目名
+	 * @return 条目内容，不存在时为 null
+	 * @throws IOException 读取失败
+	 */
+	ByteBuffer read(String entryName) throws IOException;
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import pub.ihub.integration.core.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 插件 jar 包索引
+ * <p>
+ * 一次打开所有插件 jar 并建立包名到 jar 的合并索引，查找条目时仅访问拥有该包的 jar。
+ * 默认索引由插件目录构建，目录通过 {@link #configure(Path)} 或系统属性 agent.plugin.dir 指定，
+ * 未指定时回退至单个插件 jar /tmp/ihub-agent-plugin.jar；默认索引由所有插件类加载器共享。
+ * 系统属性 agent.plugin.mmap 为 true 时以内存映射方式读取插件 jar，映射失败的 jar 回退至 {@link java.util.jar.JarFile}。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class PluginJarIndex {
+
+	/**
+	 * 插件目录参数
+	 */
+	public static final String PLUGIN_DIR = "agent.plugin.dir";
+	/**
+	 * 内存映射读取参数
+	 */
+	public static final String PLUGIN_MMAP = "agent.plugin.mmap";
+	/**
+	 * 未指定插件目录时使用的插件 jar
+	 */
+	private static final String DEFAULT_PLUGIN_FILE_PATH = "/tmp/ihub-agent-plugin.jar";
+	/**
+	 * 空归档列表
+	 */
+	private static final PluginArchive[] NO_ARCHIVES = new PluginArchive[0];
+
+	/**
+	 * 默认索引
+	 */
+	private static volatile PluginJarIndex DEFAULT;
+	/**
+	 * 默认索引的插件目录，未由插件目录构建时为 null
+	 */
+	private static Path DEFAULT_DIR;
+	/**
+	 * 默认索引是否以内存映射方式读取
+	 */
+	private static boolean DEFAULT_MAPPED;
+
+	/**
+	 * 包名到 jar 的索引，包名以 / 分隔，同一包存在于多个 jar 时按 jar 顺序排列
+	 */
+	private final Map<String, PluginArchive[]> packages;
+	/**
+	 * 已打开的 jar 数量
+	 */
+	private final int jarCount;
+
+	private PluginJarIndex(Map<String, PluginArchive[]> packages, int jarCount) {
+		this.packages = packages;
+		this.jarCount = jarCount;
+	}
+
+	/**
+	 * 以插件目录下的所有 jar 构建默认索引
+	 *
+	 * @param pluginDir 插件目录
+	 */
+	public static void configure(Path pluginDir) {
+		configure(pluginDir, Boolean.getBoolean(PLUGIN_MMAP));
+	}
+
+	/**
+	 * 以插件目录下的所有 jar 构建默认索引
+	 * <p>
+	 * 插件目录与读取方式均未变化时沿用当前默认索引，不重复打开 jar；
+	 * 变化时替换默认索引，旧索引仍由已创建的插件类加载器使用，不主动关闭，其 jar 随旧索引不可达后释放。
+	 *
+	 * @param pluginDir 插件目录
+	 * @param mapped    是否以内存映射方式读取
+	 */
+	public static synchronized void configure(Path pluginDir, boolean mapped) {
+		Path directory = pluginDir.toAbsolutePath().normalize();
+		if (DEFAULT != null && directory.equals(DEFAULT_DIR) && mapped == DEFAULT_MAPPED) {
+			Logger.debug("Plugin directory %s already indexed.", directory);
+			return;
+		}
+		DEFAULT = ofDirectory(directory, mapped);
+		DEFAULT_DIR = directory;
+		DEFAULT_MAPPED = mapped;
+		Logger.info("Plugin directory %s indexed, %d jars, %d packages.", pluginDir, DEFAULT.jarCount, DEFAULT.packages.size());
+	}
+
+	/**
+	 * 获取默认索引，尚未构建时按系统属性或默认插件 jar 构建
+	 *
+	 * @return 默认索引
+	 */
+	public static PluginJarIndex getDefault() {
+		PluginJarIndex index = DEFAULT;
+		if (index == null) {
+			synchronized (PluginJarIndex.class) {
+				index = DEFAULT;
+				if (index == null) {
+					String pluginDir = System.getProperty(PLUGIN_DIR);
+					if (pluginDir != null) {
+						configure(Paths.get(pluginDir));
+					} else {
+						DEFAULT = of(Collections.singletonList(new File(DEFAULT_PLUGIN_FILE_PATH)), Boolean.getBoolean(PLUGIN_MMAP));
+					}
+					index = DEFAULT;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * 以指定 jar 构建索引
+	 *
+	 * @param jars 插件 jar，同名条目以靠前者为准
+	 * @return 插件 jar 包索引
+	 */
+	public static PluginJarIndex of(List<File> jars) {
+		return of(jars, false);
+	}
+
+	/**
+	 * 以指定 jar 构建索引
+	 *
+	 * @param jars   插件 jar，同名条目以靠前者为准
+	 * @param mapped 是否以内存映射方式读取
+	 * @return 插件 jar 包索引
+	 */
+	public static PluginJarIndex of(List<File> jars, boolean mapped) {
+		Map<String, List<PluginArchive>> packages = new HashMap<>();
+		int jarCount = 0;
+		for (File file : jars) {
+			try {
+				PluginArchive archive = PluginArchive.open(file, mapped);
+				jarCount++;
+				for (String entryName : archive.entryNames()) {
+					List<PluginArchive> owners = packages.computeIfAbsent(packageOf(entryName), key -> new ArrayList<>(1));
+					if (owners.isEmpty() || owners.get(owners.size() - 1) != archive) {
+						owners.add(archive);
+					}
+				}
+			} catch (IOException e) {
+				Logger.error("failed to load the plugin file, msg = %s", e.getMessage());
+			}
+		}
+		Map<String, PluginArchive[]> index = new HashMap<>(packages.size() * 4 / 3 + 1);
+		packages.forEach((name, owners) -> index.put(name, owners.toArray(NO_ARCHIVES)));
+		return new PluginJarIndex(index, jarCount);
+	}
+
+	/**
+	 * 以插件目录下的所有 jar 构建索引，jar 按文件名排序
+	 *
+	 * @param pluginDir 插件目录
+	 * @return 插件 jar 包索引
+	 */
+	public static PluginJarIndex ofDirectory(Path pluginDir) {
+		return ofDirectory(pluginDir, false);
+	}
+
+	/**
+	 * 以插件目录下的所有 jar 构建索引，jar 按文件名排序
+	 *
+	 * @param pluginDir 插件目录
+	 * @param mapped    是否以内存映射方式读取
+	 * @return 插件 jar 包索引
+	 */
+	public static PluginJarIndex ofDirectory(Path pluginDir, boolean mapped) {
+		try (Stream<Path> files = Files.list(pluginDir)) {
+			return of(files.filter(file -> file.getFileName().toString().endsWith(".jar") && Files.isRegularFile(file))
+				.sorted()
+				.map(Path::toFile)
+				.toList(), mapped);
+		} catch (IOException e) {
+			Logger.error("failed to scan the plugin directory, msg = %s", e.getMessage());
+			return of(Collections.emptyList(), mapped);
+		}
+	}
+
+	private static String packageOf(String entryName) {
+		int index = entryName.lastIndexOf('/');
+		return index < 0 ? "" : entryName.substring(0, index);
+	}
+
+	/**
+	 * 读取条目内容，仅在拥有该条目所在包的 jar 中查找
+	 *
+	 * @param entryName 条目名
+	 * @return 条目内容，不存在时为 null
+	 * @throws IOException 读取失败
+	 */
+	public byte[] read(String entryName) throws IOException {
+		ByteBuffer buffer = readBuffer(entryName);
+		if (buffer == null) {
+			return null;
+		}
+		if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.remaining() == buffer.array().length) {
+			return buffer.array();
+		}
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * 读取条目内容，内存映射方式下未压缩条目返回映射区切片而不复制
+	 *
+	 * @param entryName 条目名
+	 * @return 条目内容，不存在时为 null
+	 * @throws IOException 读取失败
+	 */
+	public ByteBuffer readBuffer(String entryName) throws IOException {
+		for (PluginArchive archive : packages.getOrDefault(packageOf(entryName), NO_ARCHIVES)) {
+			ByteBuffer buffer = archive.read(entryName);
+			if (buffer != null) {
+				return buffer;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 已打开的 jar 数量
+	 *
+	 * @return jar 数量
+	 */
+	public int getJarCount() {
+		return jarCount;
+	}
+
+	/**
+	 * 拥有指定包的 jar 数量
+	 *
+	 * @param packageName 包名，以 . 分隔
+	 * @return jar 数量
+	 */
+	public int getOwnerCount(String packageName) {
+		return packages.getOrDefault(packageName.replace('.', '/'), NO_ARCHIVES).length;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.util.Collections;
+
+/**
+ * 可索引的类匹配器工厂
+ * <p>
+ * 语义与 {@link ElementMatchers#named(String)}、{@link ElementMatchers#nameStartsWith(String)} 一致，
+ * 返回的匹配器携带类名索引信息，注册至 {@link pub.ihub.integration.agent.core.IHubAspectRegistry} 后参与类名预筛选。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubTypeMatchers {
+
+	private IHubTypeMatchers() {
+	}
+
+	/**
+	 * 匹配指定类名
+	 *
+	 * @param name 类全称
+	 * @return 类匹配器
+	 */
+	public static IndexedTypeMatcher named(String name) {
+		return new IndexedTypeMatcher(ElementMatchers.named(name), Collections.singleton(name), Collections.emptySet());
+	}
+
+	/**
+	 * 匹配指定类名前缀
+	 *
+	 * @param prefix 类名前缀
+	 * @return 类匹配器
+	 */
+	public static IndexedTypeMatcher nameStartsWith(String prefix) {
+		return new IndexedTypeMatcher(ElementMatchers.nameStartsWith(prefix), Collections.emptySet(), Collections.singleton(prefix));
+	}
+
+}
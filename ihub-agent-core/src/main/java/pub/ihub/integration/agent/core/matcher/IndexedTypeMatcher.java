@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 带类名索引信息的类匹配器
+ * <p>
+ * 记录由 {@link IHubTypeMatchers#named(String)}、{@link IHubTypeMatchers#nameStartsWith(String)} 得出的候选类名与类名前缀，
+ * 供 {@link TypeNameIndex} 在完整匹配前按类名预筛选。
+ * 与任意匹配器 and 组合后仍保留索引信息；仅与同类匹配器 or 组合时合并索引信息，否则退化为普通匹配器。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IndexedTypeMatcher extends ElementMatcher.Junction.AbstractBase<TypeDescription> {
+
+	/**
+	 * 实际匹配器
+	 */
+	private final ElementMatcher<? super TypeDescription> matcher;
+	/**
+	 * 候选类名
+	 */
+	private final Set<String> names;
+	/**
+	 * 候选类名前缀
+	 */
+	private final Set<String> prefixes;
+
+	IndexedTypeMatcher(ElementMatcher<? super TypeDescription> matcher, Set<String> names, Set<String> prefixes) {
+		this.matcher = matcher;
+		this.names = names;
+		this.prefixes = prefixes;
+	}
+
+	/**
+	 * 候选类名
+	 *
+	 * @return 候选类名
+	 */
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * 候选类名前缀
+	 *
+	 * @return 候选类名前缀
+	 */
+	public Set<String> getPrefixes() {
+		return Collections.unmodifiableSet(prefixes);
+	}
+
+	@Override
+	public boolean matches(TypeDescription target) {
+		return matcher.matches(target);
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public <U extends TypeDescription> ElementMatcher.Junction<U> and(ElementMatcher<? super U> other) {
+		return (ElementMatcher.Junction<U>) new IndexedTypeMatcher(
+			new ElementMatcher.Junction.Conjunction<TypeDescription>(matcher, (ElementMatcher) other), names, prefixes);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <U extends TypeDescription> ElementMatcher.Junction<U> or(ElementMatcher<? super U> other) {
+		if (other instanceof IndexedTypeMatcher indexed) {
+			return (ElementMatcher.Junction<U>) new IndexedTypeMatcher(
+				new ElementMatcher.Junction.Disjunction<TypeDescription>(matcher, indexed.matcher),
+				union(names, indexed.names), union(prefixes, indexed.prefixes));
+		}
+		return super.or(other);
+	}
+
+	private static Set<String> union(Set<String> left, Set<String> right) {
+		Set<String> union = new HashSet<>(left);
+		union.addAll(right);
+		return union;
+	}
+
+	@Override
+	public String toString() {
+		return matcher.toString();
+	}
+
+}
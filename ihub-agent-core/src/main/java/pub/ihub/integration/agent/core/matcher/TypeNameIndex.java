@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static net.bytebuddy.matcher.ElementMatchers.none;
+
+/**
+ * 类名索引匹配器
+ * <p>
+ * 由各切面的 {@link IndexedTypeMatcher} 汇总候选类名哈希集合与类名前缀字典树，
+ * 类加载时先按类名查索引，仅候选类进入完整匹配；未携带索引信息的匹配器对所有类执行完整匹配。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class TypeNameIndex extends ElementMatcher.Junction.AbstractBase<TypeDescription> {
+
+	/**
+	 * 候选类名
+	 */
+	private final Set<String> names;
+	/**
+	 * 类名前缀字典树
+	 */
+	private final Node prefixes;
+	/**
+	 * 候选类的完整匹配器
+	 */
+	private final ElementMatcher<? super TypeDescription> indexedMatcher;
+	/**
+	 * 无索引信息的匹配器，不存在时为 null
+	 */
+	private final ElementMatcher<? super TypeDescription> fallbackMatcher;
+
+	private TypeNameIndex(Set<String> names, Node prefixes, ElementMatcher<? super TypeDescription> indexedMatcher,
+						  ElementMatcher<? super TypeDescription> fallbackMatcher) {
+		this.names = names;
+		this.prefixes = prefixes;
+		this.indexedMatcher = indexedMatcher;
+		this.fallbackMatcher = fallbackMatcher;
+	}
+
+	/**
+	 * 构建类名索引匹配器
+	 *
+	 * @param matchers 类匹配器
+	 * @return 类名索引匹配器
+	 */
+	public static TypeNameIndex of(List<? extends ElementMatcher<? super TypeDescription>> matchers) {
+		Set<String> names = new HashSet<>();
+		Node prefixes = new Node();
+		List<ElementMatcher<? super TypeDescription>> indexed = new ArrayList<>();
+		List<ElementMatcher<? super TypeDescription>> fallback = new ArrayList<>();
+		for (ElementMatcher<? super TypeDescription> matcher : matchers) {
+			if (matcher instanceof IndexedTypeMatcher indexedMatcher) {
+				names.addAll(indexedMatcher.getNames());
+				indexedMatcher.getPrefixes().forEach(prefixes::insert);
+				indexed.add(indexedMatcher);
+			} else {
+				fallback.add(matcher);
+			}
+		}
+		return new TypeNameIndex(names, prefixes, disjunction(indexed), fallback.isEmpty() ? null : disjunction(fallback));
+	}
+
+	private static ElementMatcher<? super TypeDescription> disjunction(List<ElementMatcher<? super TypeDescription>> matchers) {
+		ElementMatcher<? super TypeDescription> disjunction = null;
+		for (ElementMatcher<? super TypeDescription> matcher : matchers) {
+			disjunction = disjunction == null ? matcher : new ElementMatcher.Junction.Disjunction<TypeDescription>(disjunction, matcher);
+		}
+		return disjunction == null ? none() : disjunction;
+	}
+
+	/**
+	 * 是否为候选类
+	 *
+	 * @param typeName 类全称
+	 * @return 是否为候选类
+	 */
+	public boolean isCandidate(String typeName) {
+		return names.contains(typeName) || prefixes.matchesPrefixOf(typeName);
+	}
+
+	/**
+	 * 是否所有匹配器均携带索引信息，此时非候选类一定不匹配
+	 *
+	 * @return 是否完全索引
+	 */
+	public boolean isFullyIndexed() {
+		return fallbackMatcher == null;
+	}
+
+	@Override
+	public boolean matches(TypeDescription target) {
+		if (isCandidate(target.getName()) && indexedMatcher.matches(target)) {
+			return true;
+		}
+		return fallbackMatcher != null && fallbackMatcher.matches(target);
+	}
+
+	@Override
+	public String toString() {
+		return "indexed(" + names + ", " + indexedMatcher + ", " + fallbackMatcher + ")";
+	}
+
+	/**
+	 * 字典树节点，子节点按字符有序存放
+	 */
+	private static final class Node {
+
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		private boolean terminal;
+
+		void insert(String prefix) {
+			Node node = this;
+			for (int i = 0; i < prefix.length(); i++) {
+				node = node.childOrCreate(prefix.charAt(i));
+			}
+			node.terminal = true;
+		}
+
+		boolean matchesPrefixOf(String typeName) {
+			Node node = this;
+			for (int i = 0; !node.terminal; i++) {
+				if (i == typeName.length()) {
+					return false;
+				}
+				node = node.child(typeName.charAt(i));
+				if (node == null) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private Node child(char key) {
+			int index = Arrays.binarySearch(keys, key);
+			return index < 0 ? null : children[index];
+		}
+
+		private Node childOrCreate(char key) {
+			int index = Arrays.binarySearch(keys, key);
+			if (index >= 0) {
+				return children[index];
+			}
+			int insertion = -index - 1;
+			char[] newKeys = new char[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, insertion);
+			System.arraycopy(children, 0, newChildren, 0, insertion);
+			newKeys[insertion] = key;
+			newChildren[insertion] = new Node();
+			System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+			System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+			keys = newKeys;
+			children = newChildren;
+			return newChildren[insertion];
+		}
+
+	}
+
+}
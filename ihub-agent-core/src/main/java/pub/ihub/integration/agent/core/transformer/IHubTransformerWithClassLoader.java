@@ -46,7 +46,7 @@ public record IHubTransformerWithClassLoader(String enhanceClass) implements IHu
 			Logger.error("failed to initialized the proxy %s", e.toString());
 		}
 
-		return IHubTransformer.transform(builder, enhancer);
+		return IHubTransformer.transform(builder, typeDescription, enhancer);
 	}
 
 }
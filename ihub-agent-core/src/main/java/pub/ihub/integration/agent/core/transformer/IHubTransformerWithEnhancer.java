@@ -35,7 +35,7 @@ public record IHubTransformerWithEnhancer(IHubEnhancer enhancer) implements IHub
 	@Override
 	public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, ProtectionDomain protectionDomain) {
 		Logger.info("transform with enhancer %s...", typeDescription.getTypeName());
-		return IHubTransformer.transform(builder, enhancer);
+		return IHubTransformer.transform(builder, typeDescription, enhancer);
 	}
 
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import com.sun.management.ThreadMXBean;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("内联增强器测试")
+class IHubAdviceEnhancerTest {
+
+	private static final int WARMUP_ITERATIONS = 20_000;
+	private static final int ITERATIONS = 100_000;
+
+	@Test
+	void inlineAdvice() throws Exception {
+		Class<?> type = inline(new UpperCaseEnhancer());
+		Object greeter = type.getDeclaredConstructor().newInstance();
+
+		assertEquals("HELLO IHUB", type.getMethod("greet", String.class).invoke(greeter, "ihub"));
+		assertEquals("bye ihub", type.getMethod("bye", String.class).invoke(greeter, "ihub"));
+		assertEquals("static ihub", type.getMethod("greetStatic", String.class).invoke(null, "ihub"));
+	}
+
+	@Test
+	void inlineArguments() throws Exception {
+		Class<?> type = inline(new TrimEnhancer());
+		Object greeter = type.getDeclaredConstructor().newInstance();
+
+		assertEquals("hello ihub", type.getMethod("greet", String.class).invoke(greeter, "  ihub  "));
+	}
+
+	@Test
+	void unmatchedType() throws Exception {
+		IHubAspectRegistry registry = new IHubAspectRegistry().register(new UpperCaseEnhancer());
+		assertFalse(registry.typeMatcher().matches(TypeDescription.ForLoadedType.of(Object.class)));
+	}
+
+	@Test
+	void inlineCallSiteAllocationFree() throws Exception {
+		ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		// 经生成类的调用点度量，内联的进入代码只读取所声明的参数
+		IntUnaryOperator counter = (IntUnaryOperator) inline(new CountEnhancer(), Counter.class).getDeclaredConstructor().newInstance();
+		int sum = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			sum += counter.applyAsInt(i);
+		}
+
+		long before = threadMXBean.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += counter.applyAsInt(i);
+		}
+		long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+		assertEquals(WARMUP_ITERATIONS + ITERATIONS, CountEnhancer.CALLS.get());
+		assertNotEquals(0, sum);
+		assertEquals(0, allocated / ITERATIONS, "allocated " + allocated + " bytes in " + ITERATIONS + " calls");
+	}
+
+	private static Class<?> inline(IHubAdviceEnhancer enhancer) {
+		return inline(enhancer, Greeter.class);
+	}
+
+	private static Class<?> inline(IHubAdviceEnhancer enhancer, Class<?> target) {
+		TypeDescription typeDescription = TypeDescription.ForLoadedType.of(target);
+		IHubAspectRegistry registry = new IHubAspectRegistry().register(enhancer);
+		assertTrue(registry.typeMatcher().matches(typeDescription));
+		return registry.transform(new ByteBuddy().redefine(target), typeDescription, target.getClassLoader(), null, null)
+			.make()
+			.load(target.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+			.getLoaded();
+	}
+
+	public static class Greeter {
+
+		public static String greetStatic(String name) {
+			return "static " + name;
+		}
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+		public String bye(String name) {
+			return "bye " + name;
+		}
+
+	}
+
+	public static class Counter implements IntUnaryOperator {
+
+		@Override
+		public int applyAsInt(int operand) {
+			return operand + 1;
+		}
+
+	}
+
+	public static class CountEnhancer implements IHubAdviceEnhancer {
+
+		// 内联代码在子加载器的生成类中执行，须为公开字段
+		public static final AtomicInteger CALLS = new AtomicInteger();
+
+		@Advice.OnMethodEnter
+		static void enter() {
+			CALLS.incrementAndGet();
+		}
+
+		@Override
+		public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+			return IHubTypeMatchers.named(Counter.class.getName());
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("applyAsInt");
+		}
+
+	}
+
+	public static class UpperCaseEnhancer implements IHubAdviceEnhancer {
+
+		@Advice.OnMethodExit
+		static void exit(@Advice.Return(readOnly = false) String ret) {
+			ret = ret.toUpperCase();
+		}
+
+		@Override
+		public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+			return IHubTypeMatchers.named(Greeter.class.getName());
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("greet").or(named("greetStatic"));
+		}
+
+	}
+
+	public static class TrimEnhancer implements IHubAdviceEnhancer {
+
+		@Advice.OnMethodEnter
+		static void enter(@Advice.Argument(value = 0, readOnly = false) String name) {
+			name = name.trim();
+		}
+
+		@Override
+		public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+			return IHubTypeMatchers.named(Greeter.class.getName());
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("greet");
+		}
+
+	}
+
+}
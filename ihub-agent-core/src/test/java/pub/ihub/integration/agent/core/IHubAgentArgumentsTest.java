@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("代理参数测试")
+class IHubAgentArgumentsTest {
+
+	@Test
+	void parseAgentArgs() {
+		IHubAgentArguments arguments = IHubAgentArguments.parse("agent.retransform.batch.size=50, agent.retransform.backoff=0.5,invalid");
+		assertEquals(50, arguments.getInt("agent.retransform.batch.size", 0));
+		assertEquals(0.5, arguments.getDouble("agent.retransform.backoff", 0));
+		assertEquals(10L, arguments.getLong("agent.retransform.pause", 10L));
+		assertNull(arguments.get("invalid"));
+		assertEquals("v1", arguments.get("agent.transformer.version", "v1"));
+	}
+
+	@Test
+	void invalidNumberUsesDefault() {
+		IHubAgentArguments arguments = IHubAgentArguments.parse("size=many,pause=1s,backoff=half");
+		assertEquals(16, arguments.getInt("size", 16));
+		assertEquals(10L, arguments.getLong("pause", 10L));
+		assertEquals(0.5, arguments.getDouble("backoff", 0.5));
+	}
+
+	@Test
+	void containsPrefix() {
+		IHubAgentArguments arguments = IHubAgentArguments.parse("agent.trace.sampler.ratio=0.1");
+		assertTrue(arguments.containsPrefix("agent.trace.sampler"));
+		assertFalse(arguments.containsPrefix("agent.trace.attribute."));
+
+		System.setProperty("ihub.agent.arguments.test", "property");
+		try {
+			assertFalse(IHubAgentArguments.parse(null).containsPrefix("ihub.agent.arguments."));
+		} finally {
+			System.clearProperty("ihub.agent.arguments.test");
+		}
+	}
+
+	@Test
+	void fallbackToSystemProperty() {
+		System.setProperty("ihub.agent.arguments.test", "property");
+		try {
+			assertEquals("property", IHubAgentArguments.parse(null).get("ihub.agent.arguments.test"));
+			assertEquals("argument", IHubAgentArguments.parse("ihub.agent.arguments.test=argument").get("ihub.agent.arguments.test"));
+		} finally {
+			System.clearProperty("ihub.agent.arguments.test");
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("切面注册表测试")
+class IHubAspectRegistryTest {
+
+	private static final String TYPE_PREFIX = "pub.ihub.integration.agent.registry.Type";
+	private static final int TYPE_COUNT = 8;
+
+	@Test
+	void installOnceForAllEnhancers() throws Exception {
+		List<byte[]> types = new ArrayList<>(TYPE_COUNT);
+		for (int i = 0; i < TYPE_COUNT; i++) {
+			types.add(new ByteBuddy().subclass(Object.class).name(TYPE_PREFIX + i)
+				.defineMethod("invoke", String.class, Visibility.PUBLIC).intercept(FixedValue.value("ihub"))
+				.make().getBytes());
+		}
+		IHubAspectRegistry registry = new IHubAspectRegistry()
+			.register(new NamedEnhancer(TYPE_PREFIX + 0))
+			.register(new NamedEnhancer(TYPE_PREFIX + 0))
+			.register(new NamedEnhancer(TYPE_PREFIX + 3));
+		assertFalse(registry.isEmpty());
+
+		AtomicInteger transformed = new AtomicInteger();
+		ClassFileTransformer transformer = registry.apply(agentBuilder(transformed)).makeRaw();
+		List<Integer> changed = new ArrayList<>();
+		for (int i = 0; i < TYPE_COUNT; i++) {
+			if (transformer.transform(getClass().getClassLoader(), (TYPE_PREFIX + i).replace('.', '/'), null, null, types.get(i)) != null) {
+				changed.add(i);
+			}
+		}
+
+		assertEquals(List.of(0, 3), changed);
+		assertEquals(2, transformed.get());
+	}
+
+	@Test
+	void emptyRegistry() {
+		IHubAspectRegistry registry = new IHubAspectRegistry();
+		assertTrue(registry.isEmpty());
+		assertFalse(registry.typeMatcher().matches(TypeDescription.ForLoadedType.of(String.class)));
+	}
+
+	@Test
+	void cacheOnlyForAdviceEnhancers(@TempDir Path cacheDir) {
+		// 代理委托增强的类不可缓存，配置缓存目录时告警且不打开缓存
+		IHubAspectRegistry delegation = new IHubAspectRegistry().register(new NamedEnhancer(TYPE_PREFIX + 0)).enableCache(cacheDir);
+		delegation.apply(IHubAgentBuilder.build());
+		assertNull(delegation.getCache());
+
+		IHubAspectRegistry advice = new IHubAspectRegistry().register(new IHubAdviceEnhancerTest.UpperCaseEnhancer()).enableCache(cacheDir);
+		advice.apply(IHubAgentBuilder.build());
+		assertNotNull(advice.getCache());
+	}
+
+	private static AgentBuilder agentBuilder(AtomicInteger transformed) {
+		return IHubAgentBuilder.build()
+			.with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
+			.with(new AgentBuilder.Listener.Adapter() {
+				@Override
+				public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module,
+											 boolean loaded, DynamicType dynamicType) {
+					transformed.incrementAndGet();
+				}
+			});
+	}
+
+	private record NamedEnhancer(String enhanceClassName) implements IHubEnhancer {
+
+		@Override
+		public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+			return IHubTypeMatchers.named(enhanceClassName);
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("invoke");
+		}
+
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("增强器链测试")
+class IHubEnhancerChainTest {
+
+	@Test
+	void invokeInOneFrame() throws Throwable {
+		List<String> calls = new ArrayList<>();
+		IHubEnhancerChain chain = new IHubEnhancerChain(List.of(
+			new RecordingEnhancer("a", calls, false, false),
+			new RecordingEnhancer("b", calls, true, false)));
+		assertTrue(chain.requiresArguments());
+
+		assertEquals("ok", newProxy(chain).intercept(this, new Object[0], () -> {
+			calls.add("call");
+			return "ok";
+		}, method()));
+		assertEquals(List.of("a.before", "b.before", "call", "b.after", "a.after"), calls);
+	}
+
+	@Test
+	void skipStopsRemainingBefore() throws Throwable {
+		List<String> calls = new ArrayList<>();
+		IHubEnhancerChain chain = new IHubEnhancerChain(List.of(
+			new RecordingEnhancer("a", calls, false, true),
+			new RecordingEnhancer("b", calls, false, false)));
+		assertFalse(chain.requiresArguments());
+
+		assertEquals("a", newProxy(chain).intercept(this, new Object[0], () -> fail("original method invoked"), method()));
+		assertEquals(List.of("a.before", "a.after"), calls);
+
+		calls.clear();
+		chain = new IHubEnhancerChain(List.of(
+			new RecordingEnhancer("a", calls, false, false),
+			new RecordingEnhancer("b", calls, false, true),
+			new RecordingEnhancer("c", calls, false, false)));
+		assertEquals("b", newProxy(chain).intercept(this, new Object[0], () -> fail("original method invoked"), method()));
+		assertEquals(List.of("a.before", "b.before", "b.after", "a.after"), calls);
+	}
+
+	@Test
+	void failureIsolated() throws Throwable {
+		List<String> calls = new ArrayList<>();
+		IHubEnhancerChain chain = new IHubEnhancerChain(List.of(new IHubEnhancer() {
+			@Override
+			public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+				throw new IllegalStateException("broken");
+			}
+		}, new RecordingEnhancer("b", calls, false, false)));
+
+		assertEquals("ok", newProxy(chain).intercept(this, new Object[0], () -> "ok", method()));
+		assertEquals(List.of("b.before", "b.after"), calls);
+	}
+
+	@Test
+	void attachmentPerEnhancer() throws Throwable {
+		List<String> calls = new ArrayList<>();
+		IHubEnhancerChain chain = new IHubEnhancerChain(List.of(
+			new AttachingEnhancer("a", calls), new AttachingEnhancer("b", calls)));
+		IHubEnhancerProxy proxy = newProxy(chain);
+
+		assertEquals("ok", proxy.intercept(this, new Object[0], () -> "ok", method()));
+		assertThrows(IllegalStateException.class, () -> proxy.intercept(this, new Object[0], () -> {
+			throw new IllegalStateException("broken");
+		}, method()));
+		assertEquals(List.of("b:b", "a:a", "b:b!", "a:a!", "b:b", "a:a"), calls);
+	}
+
+IAspectEnhancer enhancer) throws NoSuchMethodException {
+		IHubEnhancerProxy proxy = new IHubEnhancerProxy();
+		proxy.setEnhancer(enhancer);
+		proxy.setDescriptor(MethodDescriptorRegistry.describe(TypeDescription.ForLoadedType.of(Object.class),
+			new MethodDescription.ForLoadedMethod(method())));
+		return proxy;
+	}
+
+	private static Method method() throws NoSuchMethodException {
+		return Object.class.getMethod("toString");
+	}
+
+	private record AttachingEnhancer(String name, List<String> calls) implements IHubEnhancer {
+
+		@Override
+		public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+			if (context.getAttachment() != null) {
+				calls.add(name + ":stale");
+			}
+			context.setAttachment(name);
+		}
+
+		@Override
+		public void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t,
+										  MethodInvocationContext context) {
+			calls.add(name + ":" + context.getAttachment() + "!");
+		}
+
+		@Override
+		public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret,
+								  MethodInvocationContext context) {
+			calls.add(name + ":" + context.getAttachment());
+			return null;
+		}
+
+	}
+
+	private record RecordingEnhancer(String name, List<String> calls, boolean requiresArguments,
+									 boolean skip) implements IHubEnhancer {
+
+		@Override
+		public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+			calls.add(name + ".before");
+			if (skip) {
+				context.skip(name);
+			}
+		}
+
+		@Override
+		public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) {
+			calls.add(name + ".after");
+			return null;
+		}
+
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("内联增强分发器测试")
+class IHubEnhancerDispatcherTest {
+
+	@Test
+	void inlineBeforeAndAfter() throws Exception {
+		RecordingEnhancer enhancer = new RecordingEnhancer(true);
+		Object greeter = inline(enhancer);
+
+		assertEquals("hello ihub", greeter.getClass().getMethod("greet", String.class).invoke(greeter, "ihub"));
+		assertEquals(List.of("before greet [ihub]", "after greet hello ihub"), enhancer.calls);
+		assertArrayEquals(new Class<?>[]{String.class}, enhancer.argumentsTypes);
+		assertEquals(Greeter.class.getName() + ".greet", enhancer.operationName);
+	}
+
+	@Test
+	void inlineSkipOriginalCall() throws Exception {
+		RecordingEnhancer enhancer = new RecordingEnhancer(true);
+		Object greeter = inline(enhancer);
+
+		assertEquals("cached", greeter.getClass().getMethod("greet", String.class).invoke(greeter, "skip"));
+		assertEquals(42, greeter.getClass().getMethod("count").invoke(greeter));
+	}
+
+	@Test
+	void inlineHandleException() throws Exception {
+		RecordingEnhancer enhancer = new RecordingEnhancer(false);
+		Object greeter = inline(enhancer);
+
+		InvocationTargetException e = assertThrows(InvocationTargetException.class,
+			() -> greeter.getClass().getMethod("fail").invoke(greeter));
+		assertEquals("boom", e.getCause().getMessage());
+		assertEquals(List.of("before fail []", "exception fail boom", "after fail null"), enhancer.calls);
+	}
+
+	@Test
+	void unresolvedMethodNotEnhanced() {
+		RecordingEnhancer enhancer = new RecordingEnhancer(true);
+		TypeDescription type = TypeDescription.ForLoadedType.of(Greeter.class);
+		MethodDescriptor descriptor = new MethodDescriptorRegistry.Scope().register(Greeter.class.getClassLoader(), type,
+			type.getDeclaredMethods().filter(named("greet")).getOnly(), enhancer);
+
+		for (int i = 0; i < 2; i++) {
+			MethodInvocationContext context = IHubEnhancerDispatcher.enter(descriptor.getId(), this, String.class, new Object[]{"ihub"});
+			assertEquals("hello ihub", IHubEnhancerDispatcher.exit(this, new Object[]{"ihub"}, "hello ihub", null, context));
+		}
+		assertFalse(descriptor.isBound());
+		assertTrue(enhancer.calls.isEmpty());
+	}
+
+	private static Object inline(IHubEnhancer enhancer) throws Exception {
+		return IHubTransformer.transform(new ByteBuddy().redefine(Greeter.class), TypeDescription.ForLoadedType.of(Greeter.class),
+				Greeter.class.getClassLoader(), List.of(enhancer), new MethodDescriptorRegistry.Scope())
+			.make()
+			.load(Greeter.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+			.getLoaded()
+			.getDeclaredConstructor()
+			.newInstance();
+	}
+
+	public static class Greeter {
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+		public int count() {
+			return 1;
+		}
+
+		public void fail() {
+			throw new IllegalStateException("boom");
+		}
+
+	}
+
+	private static class RecordingEnhancer implements IHubEnhancer {
+
+		private final boolean requiresArguments;
+		private final List<String> calls = new ArrayList<>();
+		private Class<?>[] argumentsTypes;
+		private String operationName;
+
+		RecordingEnhancer(boolean requiresArguments) {
+			this.requiresArguments = requiresArguments;
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return isDeclaredBy(Greeter.class);
+		}
+
+		@Override
+		public boolean requiresArguments() {
+			return requiresArguments;
+		}
+
+		@Override
+		public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+			calls.add("before " + method.getName() + " " + List.of(allArguments));
+			this.argumentsTypes = argumentsTypes;
+			this.operationName = method.getOperationName();
+			if ("count".equals(method.getName())) {
+				context.skip(42);
+			} else if (allArguments.length > 0 && "skip".equals(allArguments[0])) {
+				context.skip("cached");
+			}
+		}
+
+		@Override
+		public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) {
+			calls.add("after " + method.getName() + " " + ret);
+			return ret;
+		}
+
+		@Override
+		public void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t) {
+			calls.add("exception " + method.getName() + " " + t.getMessage());
+		}
+
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
+
+import java.lang.instrument.Instrumentation;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("增强器管理器测试")
+class IHubEnhancerManagerTest {
+
+	private static Instrumentation instrumentation;
+
+	@BeforeAll
+	static void installAgent() {
+		instrumentation = ByteBuddyAgent.install();
+	}
+
+	@Test
+	void installAndUninstall() {
+		InstallTarget target = new InstallTarget();
+		CountingEnhancer enhancer = new CountingEnhancer(InstallTarget.class);
+		IHubEnhancerManager manager = newManager();
+
+		assertTrue(manager.install(enhancer));
+		assertFalse(manager.install(new CountingEnhancer(InstallTarget.class)));
+		assertEquals(Set.of(CountingEnhancer.class.getName()), manager.getInstalled());
+		assertEquals("hello ihub", target.greet("ihub"));
+		assertEquals(1, enhancer.calls.get());
+
+		assertTrue(manager.uninstall(CountingEnhancer.class.getName()));
+		assertFalse(manager.uninstall(CountingEnhancer.class.getName()));
+		assertTrue(manager.getInstalled().isEmpty());
+		assertEquals("hello ihub", target.greet("ihub"));
+		assertEquals(1, enhancer.calls.get());
+	}
+
+	@Test
+	void uninstallAfterDuration() throws InterruptedException {
+		DurationTarget target = new DurationTarget();
+		CountingEnhancer enhancer = new CountingEnhancer(DurationTarget.class);
+		IHubEnhancerManager manager = newManager();
+
+		assertTrue(manager.install(enhancer, 100));
+		target.greet("ihub");
+		assertEquals(1, enhancer.calls.get());
+
+		for (int i = 0; i < 100 && manager.isInstalled(CountingEnhancer.class.getName()); i++) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		assertFalse(manager.isInstalled(CountingEnhancer.class.getName()));
+		target.greet("ihub");
+		assertEquals(1, enhancer.calls.get());
+	}
+
+	@Test
+	void registerInstalledAspects() {
+		RegisterTarget target = new RegisterTarget();
+		CountingEnhancer enhancer = new CountingEnhancer(RegisterTarget.class);
+		IHubEnhancerManager manager = newManager();
+		IHubAspectRegistry registry = new IHubAspectRegistry().enableInlining().register(enhancer);
+		ResettableClassFileTransformer transformer = manager.getRetransformation()
+			.apply(registry.apply(IHubAgentBuilder.build().disableClassFormatChanges()))
+			.installOn(instrumentation);
+
+		assertTrue(manager.register(registry, transformer, List.of(CountingEnhancer.class.getName())));
+		assertFalse(manager.install(new CountingEnhancer(RegisterTarget.class)));
+		target.greet("ihub");
+		assertEquals(1, enhancer.calls.get());
+
+		assertTrue(manager.uninstall(CountingEnhancer.class.getName()));
+		target.greet("ihub");
+		assertEquals(1, enhancer.calls.get());
+		assertTrue(manager.install(enhancer));
+		target.greet("ihub");
+		assertEquals(2, enhancer.calls.get());
+		assertTrue(manager.uninstall(CountingEnhancer.class.getName()));
+	}
+
+	@Test
+	void notRetransformableNotUninstalled() {
+		IHubEnhancerManager manager = newManager();
+		IHubAspectRegistry registry = new IHubAspectRegistry().register(new CountingEnhancer(RegisterTarget.class));
+		ResettableClassFileTransformer transformer = registry.apply(IHubAgentBuilder.build()).makeRaw();
+
+		assertTrue(manager.register(registry, transformer, List.of(CountingEnhancer.class.getName())));
+		assertFalse(manager.uninstall(CountingEnhancer.class.getName()));
+		assertTrue(manager.isInstalled(CountingEnhancer.class.getName()));
+	}
+
+	private static IHubEnhancerManager newManager() {
+		return new IHubEnhancerManager(instrumentation, IHubAgentBuilder.build(), IHubRetransformation.of(IHubAgentArguments.parse(null)));
+	}
+
+	public static class InstallTarget {
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+	}
+
+	public static class DurationTarget {
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+	}
+
+	public static class RegisterTarget {
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+	}
+
+	private static class CountingEnhancer implements IHubEnhancer {
+
+		private final Class<?> target;
+		private final AtomicInteger calls = new AtomicInteger();
+
+		CountingEnhancer(Class<?> target) {
+			this.target = target;
+		}
+
+		@Override
+		public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+			return IHubTypeMatchers.named(target.getName());
+		}
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("greet");
+		}
+
+		@Override
+		public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+			calls.incrementAndGet();
+		}
+
+	}
+
+}
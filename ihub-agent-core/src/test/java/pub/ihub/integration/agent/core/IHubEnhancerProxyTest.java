@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import com.sun.management.ThreadMXBean;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("切面增强代理测试")
+class IHubEnhancerProxyTest {
+
+	private static final int WARMUP_ITERATIONS = 20_000;
+	private static final int ITERATIONS = 100_000;
+
+	@Test
+	void descriptorBoundOnFirstCall() throws Throwable {
+		Method method = String.class.getMethod("indexOf", String.class, int.class);
+		MethodDescriptor descriptor = describe(method);
+		assertEquals(MethodDescriptor.UNREGISTERED, descriptor.getId());
+		assertEquals("java.lang.String.indexOf", descriptor.getOperationName());
+		assertNull(descriptor.getParameterTypes());
+
+		IHubEnhancerProxy proxy = new IHubEnhancerProxy();
+		proxy.setEnhancer(new IHubEnhancer() {
+		});
+		proxy.setDescriptor(descriptor);
+		proxy.intercept("ihub", new Object[]{"h", 0}, () -> 0, method);
+
+		Class<?>[] parameterTypes = descriptor.getParameterTypes();
+		assertArrayEquals(method.getParameterTypes(), parameterTypes);
+		assertSame(String.class, descriptor.getDeclaringClass());
+		proxy.intercept("ihub", new Object[]{"h", 0}, () -> 0, method);
+		assertSame(parameterTypes, descriptor.getParameterTypes());
+	}
+
+	@Test
+	void liteProxyPassesEmptyArguments() throws Throwable {
+		Method method = Object.class.getMethod("toString");
+		Object[][] captured = new Object[1][];
+		IHubEnhancerLiteProxy proxy = new IHubEnhancerLiteProxy();
+		proxy.setEnhancer(new IHubEnhancer() {
+			@Override
+			public boolean requiresArguments() {
+				return false;
+			}
+
+			@Override
+			public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+				captured[0] = allArguments;
+			}
+		});
+		proxy.setDescriptor(describe(method));
+
+		assertEquals("ok", proxy.intercept(this, () -> "ok", method));
+		assertEquals(0, captured[0].length);
+	}
+
+	@Test
+	void skipOriginalCall() throws Throwable {
+		Method method = Object.class.getMethod("toString");
+		IHubEnhancerProxy proxy = new IHubEnhancerProxy();
+		proxy.setEnhancer(new IHubEnhancer() {
+			@Override
+			public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+				if ("cached".equals(allArguments[0])) {
+					context.skip("hit");
+				}
+			}
+		});
+		proxy.setDescriptor(describe(method));
+
+		assertEquals("hit", proxy.intercept(this, new Object[]{"cached"}, () -> fail("original method invoked"), method));
+		assertEquals("miss", proxy.intercept(this, new Object[]{"other"}, () -> "miss", method));
+	}
+
+	/**
+	 * 仅度量代理方法体：生成的调用点每次调用仍会创建 {@code @SuperCall} 回调实例，不在此度量范围内，
+	 * 调用点零分配的增强参见 {@link IHubAdviceEnhancerTest#inlineCallSiteAllocationFree()}
+	 */
+	@Test
+	void proxyBodyAllocationFree() throws Throwable {
+		ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		IHubEnhancerLiteProxy proxy = new IHubEnhancerLiteProxy();
+		proxy.setEnhancer(new IHubEnhancer() {
+			@Override
+			public boolean requiresArguments() {
+				return false;
+			}
+		});
+		Method method = Object.class.getMethod("toString");
+		proxy.setDescriptor(describe(method));
+		Callable<?> zuper = () -> "ok";
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			proxy.intercept(this, zuper, method);
+		}
+
+		long before = threadMXBean.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < ITERATIONS; i++) {
+			proxy.intercept(this, zuper, method);
+		}
+		long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+		assertEquals(0, allocated / ITERATIONS, "allocated " + allocated + " bytes in " + ITERATIONS + " calls");
+	}
+
+	private static MethodDescriptor describe(Method method) {
+		return MethodDescriptorRegistry.describe(TypeDescription.ForLoadedType.of(method.getDeclaringClass()),
+			new MethodDescription.ForLoadedMethod(method));
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("分批重转换监听器测试")
+class IHubRedefinitionListenerTest {
+
+	@Test
+	void recordBatchTimings() {
+		IHubRedefinitionListener listener = new IHubRedefinitionListener(0, 0);
+		List<Class<?>> types = List.of(String.class, Integer.class, Long.class);
+		listener.onBatch(0, types.subList(0, 2), types);
+		listener.onBatch(1, types.subList(2, 3), types);
+		listener.onComplete(3, types, Collections.emptyMap());
+
+		assertEquals(2, listener.getBatchCount());
+		assertTrue(listener.getMaxBatchNanos() <= listener.getTotalBatchNanos());
+		assertTrue(listener.getLastBatchNanos() <= listener.getMaxBatchNanos());
+	}
+
+	@Test
+	void pauseBetweenBatches() {
+		IHubRedefinitionListener listener = new IHubRedefinitionListener(20, 0);
+		List<Class<?>> types = List.of(String.class, Integer.class, Long.class);
+		long start = System.nanoTime();
+		for (int i = 0; i < types.size(); i++) {
+			listener.onBatch(i, types.subList(i, i + 1), types);
+		}
+		listener.onComplete(3, types, Collections.emptyMap());
+		long elapsed = System.nanoTime() - start;
+
+		assertEquals(3, listener.getBatchCount());
+		assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(40), "paused " + elapsed + " ns");
+		assertTrue(listener.getTotalBatchNanos() < TimeUnit.MILLISECONDS.toNanos(40), "pauses are not counted as batch time");
+	}
+
+	@Test
+	void withoutPause() {
+		IHubRetransformation retransformation = IHubRetransformation.of(IHubAgentArguments.parse(IHubRetransformation.PAUSE + "=200"));
+		IHubRedefinitionListener listener = retransformation.withoutPause().getListener();
+		assertNotSame(retransformation.getListener(), listener);
+		List<Class<?>> types = List.of(String.class, Integer.class, Long.class);
+		long start = System.nanoTime();
+		for (int i = 0; i < types.size(); i++) {
+			listener.onBatch(i, types.subList(i, i + 1), types);
+		}
+		listener.onComplete(3, types, Collections.emptyMap());
+
+		assertEquals(3, listener.getBatchCount());
+		assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200), "paused without pause");
+	}
+
+	@Test
+	void failedBatchNotRetried() {
+		IHubRedefinitionListener listener = new IHubRedefinitionListener(0, 0);
+		List<Class<?>> batch = List.of(String.class);
+		assertFalse(listener.onError(0, batch, new IllegalStateException("boom"), batch).iterator().hasNext());
+	}
+
+}
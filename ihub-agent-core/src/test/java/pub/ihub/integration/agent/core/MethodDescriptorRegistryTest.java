@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("增强方法描述注册表测试")
+class MethodDescriptorRegistryTest {
+
+	private static final TypeDescription GREETER = TypeDescription.ForLoadedType.of(Greeter.class);
+
+	@Test
+	void registerOncePerClassLoader() {
+		MethodDescriptorRegistry.Scope scope = new MethodDescriptorRegistry.Scope();
+		MethodDescription method = greet();
+		ClassLoader loader = Greeter.class.getClassLoader();
+
+		MethodDescriptor descriptor = scope.register(loader, GREETER, method, new IHubEnhancer() {
+		});
+		assertSame(descriptor, scope.register(loader, GREETER, method, new IHubEnhancer() {
+		}));
+		ClassLoader other = new ClassLoader() {
+		};
+		assertNotEquals(descriptor.getId(), scope.register(other, GREETER, method, new IHubEnhancer() {
+		}).getId());
+		assertEquals(2, scope.size());
+		Reference.reachabilityFence(other);
+		assertSame(descriptor, MethodDescriptorRegistry.get(descriptor.getId()));
+
+		scope.release();
+		assertEquals(0, scope.size());
+		assertNull(MethodDescriptorRegistry.get(descriptor.getId()));
+	}
+
+	@Test
+	void delegationNotRegistered() {
+		int size = MethodDescriptorRegistry.size();
+		MethodDescriptor descriptor = MethodDescriptorRegistry.describe(GREETER, greet());
+		assertEquals(MethodDescriptor.UNREGISTERED, descriptor.getId());
+		assertEquals(size, MethodDescriptorRegistry.size());
+	}
+
+	@Test
+	void releasedDuringInvocation() {
+		MethodDescriptorRegistry.Scope scope = new MethodDescriptorRegistry.Scope();
+		StringBuilder calls = new StringBuilder();
+		MethodDescriptor descriptor = scope.register(Greeter.class.getClassLoader(), GREETER, greet(), new IHubEnhancer() {
+			@Override
+			public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+				calls.append("before;");
+			}
+
+			@Override
+			public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) {
+				calls.append("after;");
+				return null;
+			}
+		});
+
+		MethodInvocationContext context = IHubEnhancerDispatcher.enter(descriptor.getId(), this, Greeter.class, null);
+		scope.release();
+		assertEquals("hello", IHubEnhancerDispatcher.exit(this, null, "hello", null, context));
+		assertEquals("before;after;", calls.toString());
+
+		context = IHubEnhancerDispatcher.enter(descriptor.getId(), this, Greeter.class, null);
+		assertEquals("hello", IHubEnhancerDispatcher.exit(this, null, "hello", null, context));
+		assertEquals("before;after;", calls.toString());
+	}
+
+	@Test
+	void boundClassNotRetained() throws Exception {
+		MethodDescriptorRegistry.Scope scope = new MethodDescriptorRegistry.Scope();
+		int[] id = new int[1];
+		WeakReference<ClassLoader> reference = bindInTemporaryClassLoader(scope, id);
+		assertEquals(1, scope.size());
+		for (int i = 0; i < 50 && (reference.get() != null || scope.size() != 0); i++) {
+			System.gc();
+			TimeUnit.MILLISECONDS.sleep(20);
+		}
+		assertNull(reference.get(), "class loader of bound class leaked");
+		assertEquals(0, scope.size());
+		assertNull(MethodDescriptorRegistry.get(id[0]));
+	}
+
+	@Test
+	void collectedLoaderIdRecycled() throws Exception {
+		MethodDescriptorRegistry.Scope scope = new MethodDescriptorRegistry.Scope();
+		int[] id = new int[1];
+		WeakReference<ClassLoader> reference = bindInTemporaryClassLoader(scope, id);
+		for (int i = 0; i < 50 && (reference.get() != null || scope.size() != 0); i++) {
+			System.gc();
+			TimeUnit.MILLISECONDS.sleep(20);
+		}
+		assertEquals(0, scope.size());
+
+		MethodDescriptor descriptor = scope.register(Greeter.class.getClassLoader(), GREETER, greet(), new IHubEnhancer() {
+		});
+		assertEquals(id[0], descriptor.getId());
+		assertSame(descriptor, MethodDescriptorRegistry.get(id[0]));
+
+		scope.release();
+		assertNotEquals(id[0], scope.register(Greeter.class.getClassLoader(), GREETER, greet(), new IHubEnhancer() {
+		}).getId());
+	}
+
+	@Test
+	void delegateInheritedMethods() throws Exception {
+		RecordingEnhancer enhancer = new RecordingEnhancer();
+		Object child = IHubTransformer.transform(new ByteBuddy().redefine(Child.class), TypeDescription.ForLoadedType.of(Child.class),
+				List.of(enhancer))
+			.make()
+			.load(Child.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+			.getLoaded()
+			.getDeclaredConstructor()
+			.newInstance();
+
+		assertEquals("hello ihub", child.getClass().getMethod("greet", String.class).invoke(child, "ihub"));
+		assertEquals("bye ihub", child.getClass().getMethod("bye", String.class).invoke(child, "ihub"));
+		assertEquals("before greet;before bye;", enhancer.calls.toString());
+	}
+
+	private static WeakReference<ClassLoader> bindInTemporaryClassLoader(MethodDescriptorRegistry.Scope scope, int[] id) throws Exception {
+		Class<?> type = new ByteBuddy().subclass(Object.class).name("pub.ihub.integration.agent.core.TemporaryGreeter")
+			.defineMethod("greet", String.class, Visibility.PUBLIC).intercept(FixedValue.value("hello"))
+			.make()
+			.load(null, ClassLoadingStrategy.Default.WRAPPER)
+			.getLoaded();
+		TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+		MethodDescriptor descriptor = scope.register(type.getClassLoader(), typeDescription,
+			typeDescription.getDeclaredMethods().filter(named("greet")).getOnly(), new IHubEnhancer() {
+			});
+		descriptor.bind(type.getMethod("greet"));
+		assertSame(type, descriptor.getDeclaringClass());
+		id[0] = descriptor.getId();
+		return new WeakReference<>(type.getClassLoader());
+	}
+
+	private static MethodDescription greet() {
+		return GREETER.getDeclaredMethods().filter(named("greet")).getOnly();
+	}
+
+	public static class Greeter {
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+	}
+
+	public static class Parent {
+
+		public String greet(String name) {
+			return "hello " + name;
+		}
+
+		public final String greetFinal(String name) {
+			return "hello " + name;
+		}
+
+	}
+
+	public static class Child extends Parent {
+
+		public String bye(String name) {
+			return "bye " + name;
+		}
+
+	}
+
+	private static class RecordingEnhancer implements IHubEnhancer {
+
+		private final StringBuilder calls = new StringBuilder();
+
+		@Override
+		public ElementMatcher<MethodDescription> getMethodsMatcher() {
+			return named("greet").or(named("bye")).or(named("greetFinal"));
+		}
+
+		@Override
+		public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) {
+			calls.append("before ").append(method.getName()).append(';');
+		}
+
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("增强类字节码缓存测试")
+class TransformedClassCacheTest {
+
+	private static final byte[] ORIGINAL = "original".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] TRANSFORMED = "transformed".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reuseAcrossRestarts() throws Exception {
+		TransformedClassCache cache = TransformedClassCache.open(directory, "v1");
+		TransformedClassCache.Key key = cache.key("a/B", ORIGINAL);
+		assertNull(cache.get(key));
+		cache.put(key, TRANSFORMED);
+		assertArrayEquals(TRANSFORMED, cache.get(key));
+		cache.flush();
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		TransformedClassCache restarted = TransformedClassCache.open(directory, "v1");
+		assertEquals(1, restarted.size());
+		assertArrayEquals(TRANSFORMED, restarted.get(restarted.key("a/B", ORIGINAL)));
+		assertNull(restarted.get(restarted.key("a/B", TRANSFORMED)));
+		assertNull(restarted.get(restarted.key("a/C", ORIGINAL)));
+		assertEquals(1, restarted.getHitCount());
+		assertEquals(2, restarted.getMissCount());
+
+		restarted.put(restarted.key("a/C", ORIGINAL), TRANSFORMED);
+		restarted.flush();
+		assertEquals(2, TransformedClassCache.open(directory, "v1").size());
+	}
+
+	@Test
+	void versionIsolation() throws Exception {
+		TransformedClassCache cache = TransformedClassCache.open(directory, "v1");
+		cache.put(cache.key("a/B", ORIGINAL), TRANSFORMED);
+		cache.flush();
+
+		TransformedClassCache other = TransformedClassCache.open(directory, "v2");
+		assertEquals(0, other.size());
+		assertNull(other.get(other.key("a/B", ORIGINAL)));
+	}
+
+	@Test
+	void rebuildCorruptedFile() throws Exception {
+		Files.write(directory.resolve("ihub-agent-v1.cache"), TRANSFORMED);
+		TransformedClassCache cache = TransformedClassCache.open(directory, "v1");
+		assertEquals(0, cache.size());
+		cache.put(cache.key("a/B", ORIGINAL), TRANSFORMED);
+		cache.flush();
+		assertEquals(1, TransformedClassCache.open(directory, "v1").size());
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("代理插件类加载器测试")
+class AgentPluginClassLoaderTest {
+
+	private static final String PACKAGE = "pub.ihub.integration.agent.plugin.generated.";
+	private static final int CLASSES = 200;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void loadFromIndexedJar() throws Exception {
+		AgentPluginClassLoader loader = new AgentPluginClassLoader(getClass().getClassLoader(), List.of(writeJar("plugin.jar", 0, CLASSES, "plugin")));
+		assertTrue(loader.isRegisteredAsParallelCapable());
+
+		Class<?> type = loader.loadClass(PACKAGE + "Type0");
+		assertSame(loader, type.getClassLoader());
+		assertSame(type, loader.loadClass(PACKAGE + "Type0"));
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PACKAGE + "Missing"));
+	}
+
+	@Test
+	void firstJarWins() throws Exception {
+		File first = writeJar("first.jar", 0, 2, "first");
+		File second = writeJar("second.jar", 1, 3, "second");
+		AgentPluginClassLoader loader = new AgentPluginClassLoader(getClass().getClassLoader(), List.of(first, new File(directory.toFile(), "missing.jar"), second));
+
+		assertNotNull(loader.loadClass(PACKAGE + "Type0").getField("first"));
+		assertNotNull(loader.loadClass(PACKAGE + "Type1").getField("first"));
+		assertNotNull(loader.loadClass(PACKAGE + "Type2").getField("second"));
+	}
+
+	@Test
+	void parallelLoad() throws Exception {
+		AgentPluginClassLoader loader = new AgentPluginClassLoader(getClass().getClassLoader(), List.of(writeJar("plugin.jar", 0, CLASSES, "plugin")));
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<Class<?>>>> futures = new ArrayList<>(threads);
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					List<Class<?>> types = new ArrayList<>(CLASSES);
+					for (int i = 0; i < CLASSES; i++) {
+						types.add(loader.loadClass(PACKAGE + "Type" + i));
+					}
+					return types;
+				}));
+			}
+			List<Class<?>> expected = futures.get(0).get();
+			for (Future<List<Class<?>>> future : futures) {
+				assertEquals(expected, future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private File writeJar(String name, int from, int to, String marker) throws IOException {
+		File file = directory.resolve(name).toFile();
+		try (OutputStream os = Files.newOutputStream(file.toPath()); JarOutputStream jar = new JarOutputStream(os)) {
+			for (int i = from; i < to; i++) {
+				String typeName = PACKAGE + "Type" + i;
+				jar.putNextEntry(new JarEntry(typeName.replace('.', '/') + ".class"));
+				jar.write(new ByteBuddy().subclass(Object.class).name(typeName)
+					.defineField(marker, int.class, Visibility.PUBLIC).make().getBytes());
+				jar.closeEntry();
+			}
+		}
+		return file;
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("代理增强实例加载器测试")
+class EnhancerInstanceLoaderTest {
+
+	private static final String INSTANCE_CLASS = "java.util.ArrayList";
+	private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+	private static final int LOADERS = 64;
+
+	@Test
+	void instancePerClassLoader() {
+		ClassLoader first = new ClassLoader() {
+		};
+		ClassLoader second = new ClassLoader() {
+		};
+		Object instance = EnhancerInstanceLoader.load(INSTANCE_CLASS, first);
+		assertSame(instance, EnhancerInstanceLoader.load(INSTANCE_CLASS, first));
+		assertNotSame(instance, EnhancerInstanceLoader.load(INSTANCE_CLASS, second));
+		assertSame(EnhancerInstanceLoader.load(INSTANCE_CLASS, null), EnhancerInstanceLoader.load(INSTANCE_CLASS, null));
+	}
+
+	@Test
+	void targetClassLoaderNotRetained() throws InterruptedException {
+		WeakReference<ClassLoader> reference = loadWithTemporaryClassLoader();
+		for (int i = 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			TimeUnit.MILLISECONDS.sleep(20);
+			// 触发过期条目清理
+			EnhancerInstanceLoader.load(INSTANCE_CLASS, null);
+		}
+		assertNull(reference.get(), "target class loader leaked");
+	}
+
+	@Test
+	void pluginClassLoaderRetained() throws InterruptedException {
+		ClassLoader classLoader = new ClassLoader() {
+		};
+		Object instance = EnhancerInstanceLoader.load(INSTANCE_CLASS, classLoader);
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			TimeUnit.MILLISECONDS.sleep(20);
+			assertSame(instance, EnhancerInstanceLoader.load(INSTANCE_CLASS, classLoader));
+		}
+	}
+
+	@Test
+	void parallelLoad() throws Exception {
+		List<ClassLoader> classLoaders = new ArrayList<>(LOADERS);
+		for (int i = 0; i < LOADERS; i++) {
+			classLoaders.add(new ClassLoader() {
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Object[]>> futures = new ArrayList<>(THREADS);
+			for (int t = 0; t < THREADS; t++) {
+				int offset = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					Object[] instances = new Object[LOADERS];
+					for (int i = 0; i < LOADERS; i++) {
+						int index = (i + offset) % LOADERS;
+						instances[index] = EnhancerInstanceLoader.load(INSTANCE_CLASS, classLoaders.get(index));
+					}
+					return instances;
+				}));
+			}
+			start.countDown();
+			Object[] expected = futures.get(0).get();
+			for (Future<Object[]> future : futures) {
+				Object[] instances = future.get();
+				for (int i = 0; i < LOADERS; i++) {
+					assertNotNull(instances[i]);
+					assertSame(expected[i], instances[i]);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static WeakReference<ClassLoader> loadWithTemporaryClassLoader() {
+		ClassLoader classLoader = new ClassLoader() {
+		};
+		assertNotNull(EnhancerInstanceLoader.load(INSTANCE_CLASS, classLoader));
+		return new WeakReference<>(classLoader);
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("内存映射插件归档测试")
+class MappedPluginArchiveTest {
+
+	private static final byte[] LARGE = "pub.ihub.integration.agent.".repeat(2048).getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readSameAsJarFile() throws IOException {
+		File file = writeJar();
+		try (PluginArchive mapped = MappedPluginArchive.open(file); PluginArchive jar = new JarPluginArchive(file)) {
+			Set<String> names = new HashSet<>();
+			mapped.entryNames().forEach(names::add);
+			Set<String> expected = new HashSet<>();
+			jar.entryNames().forEach(expected::add);
+			assertEquals(expected, names);
+			assertFalse(names.contains("pub/ihub/plugin/"));
+
+			for (String name : names) {
+				assertEquals(jar.read(name), mapped.read(name), name);
+			}
+			assertArrayEquals(LARGE, bytes(mapped.read("pub/ihub/plugin/Deflated.class")));
+			assertNull(mapped.read("pub/ihub/plugin/Missing.class"));
+		}
+	}
+
+	@Test
+	void storedEntryIsNotCopied() throws IOException {
+		try (PluginArchive mapped = MappedPluginArchive.open(writeJar())) {
+			ByteBuffer stored = mapped.read("pub/ihub/plugin/Stored.class");
+			assertTrue(stored.isDirect());
+			assertEquals("stored", new String(bytes(stored), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void notAZipFile() throws IOException {
+		Path file = Files.writeString(directory.resolve("broken.jar"), "not a jar");
+		assertThrows(ZipException.class, () -> MappedPluginArchive.open(file.toFile()));
+	}
+
+	@Test
+	void corruptCentralDirectory() throws IOException {
+		byte[] bytes = Files.readAllBytes(writeJar().toPath());
+		int cen = centralDirectory(bytes);
+
+		byte[] nameOverflow = bytes.clone();
+		putShort(nameOverflow, cen + 28, 0xFFFF);
+		assertThrows(ZipException.class, () -> MappedPluginArchive.open(write("name.jar", nameOverflow)));
+
+		byte[] localOverflow = bytes.clone();
+		putInt(localOverflow, cen + 42, bytes.length);
+		assertThrows(ZipException.class, () -> MappedPluginArchive.open(write("local.jar", localOverflow)));
+	}
+
+	@Test
+	void corruptLocalHeader() throws IOException {
+		byte[] bytes = Files.readAllBytes(writeJar().toPath());
+		int cen = centralDirectory(bytes);
+		int deflated = cen + 46 + getShort(bytes, cen + 28) + getShort(bytes, cen + 30) + getShort(bytes, cen + 32);
+		putShort(bytes, getInt(bytes, deflated + 42) + 26, 0xFFFF);
+		putShort(bytes, getInt(bytes, deflated + 42) + 28, 0xFFFF);
+
+		try (PluginArchive mapped = MappedPluginArchive.open(write("corrupt.jar", bytes))) {
+			assertThrows(ZipException.class, () -> mapped.read("pub/ihub/plugin/Deflated.class"));
+			assertEquals("stored", new String(bytes(mapped.read("pub/ihub/plugin/Stored.class")), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void corruptJarFallsBack() throws IOException {
+		byte[] bytes = Files.readAllBytes(writeJar().toPath());
+		putShort(bytes, centralDirectory(bytes) + 28, 0xFFFF);
+		Files.delete(directory.resolve("plugin.jar"));
+		write("corrupt.jar", bytes);
+
+		assertEquals(0, PluginJarIndex.ofDirectory(directory, true).getJarCount());
+	}
+
+	@Test
+	void mappedIndex() throws IOException {
+		writeJar();
+		PluginJarIndex index = PluginJarIndex.ofDirectory(directory, true);
+		assertEquals(1, index.getJarCount());
+		assertArrayEquals(LARGE, index.read("pub/ihub/plugin/Deflated.class"));
+		assertEquals("stored", new String(index.read("pub/ihub/plugin/Stored.class"), StandardCharsets.UTF_8));
+	}
+
+	private File writeJar() throws IOException {
+		Path file = directory.resolve("plugin.jar");
+		try (OutputStream os = Files.newOutputStream(file); JarOutputStream jar = new JarOutputStream(os)) {
+			jar.setComment("ihub agent plugin");
+			jar.putNextEntry(new JarEntry("pub/ihub/plugin/"));
+			jar.closeEntry();
+			jar.putNextEntry(new JarEntry("pub/ihub/plugin/Deflated.class"));
+			jar.write(LARGE);
+			jar.closeEntry();
+
+			byte[] content = "stored".getBytes(StandardCharsets.UTF_8);
+			CRC32 crc = new CRC32();
+			crc.update(content);
+			JarEntry stored = new JarEntry("pub/ihub/plugin/Stored.class");
+			stored.setMethod(ZipEntry.STORED);
+			stored.setSize(content.length);
+			stored.setCrc(crc.getValue());
+			stored.setExtra(new byte[]{(byte) 0xCA, (byte) 0xFE, 0, 0});
+			jar.putNextEntry(stored);
+			jar.write(content);
+			jar.closeEntry();
+		}
+		return file.toFile();
+	}
+
+	private File write(String name, byte[] bytes) throws IOException {
+		return Files.write(directory.resolve(name), bytes).toFile();
+	}
+
+	/**
+	 * 中央目录起始偏移，取自中央目录结束记录
+	 */
+	private static int centralDirectory(byte[] bytes) {
+		for (int position = bytes.length - 22; position >= 0; position--) {
+			if (getInt(bytes, position) == 0x06054b50) {
+				return getInt(bytes, position + 16);
+			}
+		}
+		throw new IllegalStateException("end of central directory not found");
+	}
+
+	private static int getShort(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+	}
+
+	private static int getInt(byte[] bytes, int offset) {
+		return getShort(bytes, offset) | getShort(bytes, offset + 2) << 16;
+	}
+
+	private static void putShort(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) value;
+		bytes[offset + 1] = (byte) (value >>> 8);
+	}
+
+	private static void putInt(byte[] bytes, int offset, int value) {
+		putShort(bytes, offset, value);
+		putShort(bytes, offset + 2, value >>> 16);
+	}
+
+	private static byte[] bytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.loader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("插件jar包索引测试")
+class PluginJarIndexTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void indexPackagesAcrossJars() throws IOException {
+		writeJar("a-tomcat.jar", "pub/ihub/plugin/tomcat/Enhancer.class", "tomcat");
+		writeJar("b-jdbc.jar", "pub/ihub/plugin/jdbc/Enhancer.class", "jdbc");
+		writeJar("c-tomcat-ext.jar", "pub/ihub/plugin/tomcat/Extension.class", "extension");
+		Files.writeString(directory.resolve("readme.txt"), "not a jar");
+
+		PluginJarIndex index = PluginJarIndex.ofDirectory(directory);
+		assertEquals(3, index.getJarCount());
+		assertEquals(2, index.getOwnerCount("pub.ihub.plugin.tomcat"));
+		assertEquals(1, index.getOwnerCount("pub.ihub.plugin.jdbc"));
+		assertEquals(0, index.getOwnerCount("pub.ihub.plugin.redis"));
+
+		assertEquals("tomcat", read(index, "pub/ihub/plugin/tomcat/Enhancer.class"));
+		assertEquals("extension", read(index, "pub/ihub/plugin/tomcat/Extension.class"));
+		assertEquals("jdbc", read(index, "pub/ihub/plugin/jdbc/Enhancer.class"));
+		assertNull(index.read("pub/ihub/plugin/jdbc/Missing.class"));
+		assertNull(index.read("pub/ihub/plugin/redis/Enhancer.class"));
+	}
+
+	@Test
+	void firstJarWinsInDirectoryOrder() throws IOException {
+		writeJar("b.jar", "pub/ihub/plugin/Shared.class", "b");
+		writeJar("a.jar", "pub/ihub/plugin/Shared.class", "a");
+
+		assertEquals("a", read(PluginJarIndex.ofDirectory(directory), "pub/ihub/plugin/Shared.class"));
+	}
+
+	@Test
+	void missingDirectory() {
+		PluginJarIndex index = PluginJarIndex.ofDirectory(directory.resolve("missing"));
+		assertEquals(0, index.getJarCount());
+	}
+
+	@Test
+	void configureUnchangedDirectoryOnce() throws IOException {
+		Path first = Files.createDirectory(directory.resolve("first"));
+		Path second = Files.createDirectory(directory.resolve("second"));
+
+		PluginJarIndex.configure(first, false);
+		PluginJarIndex index = PluginJarIndex.getDefault();
+		PluginJarIndex.configure(first.resolve("..").resolve("first"), false);
+		assertSame(index, PluginJarIndex.getDefault());
+
+		PluginJarIndex.configure(first, true);
+		assertNotSame(index, PluginJarIndex.getDefault());
+		index = PluginJarIndex.getDefault();
+		PluginJarIndex.configure(second, true);
+		assertNotSame(index, PluginJarIndex.getDefault());
+	}
+
+	private static String read(PluginJarIndex index, String entryName) throws IOException {
+		return new String(index.read(entryName), StandardCharsets.UTF_8);
+	}
+
+	private void writeJar(String name, String entryName, String content) throws IOException {
+		try (OutputStream os = Files.newOutputStream(directory.resolve(name)); JarOutputStream jar = new JarOutputStream(os)) {
+			jar.putNextEntry(new JarEntry(entryName));
+			jar.write(content.getBytes(StandardCharsets.UTF_8));
+			jar.closeEntry();
+		}
+	}
+
+}
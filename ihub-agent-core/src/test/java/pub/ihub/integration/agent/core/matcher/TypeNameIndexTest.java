@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.core.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.isInterface;
+import static net.bytebuddy.matcher.ElementMatchers.nameEndsWith;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("类名索引匹配器测试")
+class TypeNameIndexTest {
+
+	private static final TypeDescription STRING = TypeDescription.ForLoadedType.of(String.class);
+	private static final TypeDescription LIST = TypeDescription.ForLoadedType.of(List.class);
+	private static final TypeDescription INTEGER = TypeDescription.ForLoadedType.of(Integer.class);
+
+	@Test
+	void exactNames() {
+		TypeNameIndex index = TypeNameIndex.of(List.of(IHubTypeMatchers.named("java.lang.String")));
+		assertTrue(index.isCandidate("java.lang.String"));
+		assertFalse(index.isCandidate("java.lang.StringBuilder"));
+		assertTrue(index.matches(STRING));
+		assertFalse(index.matches(INTEGER));
+	}
+
+	@Test
+	void prefixes() {
+		TypeNameIndex index = TypeNameIndex.of(List.of(
+			IHubTypeMatchers.nameStartsWith("java.util."),
+			IHubTypeMatchers.nameStartsWith("java.lang.Str")));
+		assertTrue(index.isCandidate("java.util.List"));
+		assertTrue(index.isCandidate("java.lang.StringBuilder"));
+		assertFalse(index.isCandidate("java.lang.Integer"));
+		assertFalse(index.isCandidate("java.lang.St"));
+		assertTrue(index.matches(LIST));
+		assertTrue(index.matches(STRING));
+		assertFalse(index.matches(INTEGER));
+	}
+
+	@Test
+	void conjunctionKeepsIndex() {
+		TypeNameIndex index = TypeNameIndex.of(List.of(
+			IHubTypeMatchers.nameStartsWith("java.util.").and(not(isInterface())),
+			IHubTypeMatchers.named("java.lang.String").or(IHubTypeMatchers.named("java.lang.Integer"))));
+		assertTrue(index.isCandidate("java.util.List"));
+		assertFalse(index.matches(LIST));
+		assertTrue(index.matches(STRING));
+		assertTrue(index.matches(INTEGER));
+	}
+
+	@Test
+	void fallbackMatchesAllTypes() {
+		TypeNameIndex index = TypeNameIndex.of(List.of(
+			IHubTypeMatchers.named("java.lang.String"),
+			nameEndsWith("Integer")));
+		assertFalse(index.isCandidate("java.lang.Integer"));
+		assertTrue(index.matches(STRING));
+		assertTrue(index.matches(INTEGER));
+		assertFalse(index.matches(LIST));
+	}
+
+}
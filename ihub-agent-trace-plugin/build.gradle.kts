@@ -29,11 +29,45 @@ dependencies {
     implementation("org.apache.tomcat.embed:tomcat-embed-core")
     implementation("io.opentelemetry:opentelemetry-api")
     implementation("io.opentelemetry:opentelemetry-sdk")
+    testImplementation("org.mockito:mockito-core")
 }
 
 // 内联 ihub-shadow 插件的 Java agent manifest 注入逻辑（原 IHubShadowPlugin 自动检测 premain/agentmain）。
 tasks.named<Jar>("shadowJar") {
     manifest.attributes("Premain-Class" to "pub.ihub.integration.agent.trace.IHubTraceAgent")
+    manifest.attributes("Agent-Class" to "pub.ihub.integration.agent.trace.IHubTraceAgent")
     manifest.attributes("Can-Redefine-Classes" to true)
     manifest.attributes("Can-Retransform-Classes" to true)
 }
+
+// 动态 CDS 归档：以训练模式加载代理自身的类并在退出时转储，运行时以相同 JDK、相同类路径（应用类路径在前，代理 jar 在后）
+// 及 -XX:SharedArchiveFile 启动即可复用。应用类路径通过 -PcdsClasspath 指定，默认为空。
+val cdsArchiveFile = layout.buildDirectory.file("cds/ihub-agent.jsa")
+val cdsClasspath = providers.gradleProperty("cdsClasspath").orElse("")
+val agentJar = tasks.named<Jar>("shadowJar").flatMap { it.archiveFile }
+
+val cdsArchive by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "生成代理类的动态 CDS 归档"
+    classpath(cdsClasspath.map { it.split(File.pathSeparator).filter(String::isNotEmpty) }, agentJar)
+    mainClass.set("pub.ihub.integration.agent.trace.cds.IHubCdsTraining")
+    outputs.file(cdsArchiveFile)
+    jvmArgumentProviders.add(CommandLineArgumentProvider {
+        listOf("-XX:ArchiveClassesAtExit=" + cdsArchiveFile.get().asFile.absolutePath)
+    })
+}
+
+tasks.register<JavaExec>("cdsStartup") {
+    group = "verification"
+    description = "测量代理在有无 CDS 归档时的启动耗时"
+    dependsOn(cdsArchive)
+    classpath(agentJar)
+    mainClass.set("pub.ihub.integration.agent.trace.cds.IHubCdsStartup")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            cdsArchiveFile.get().asFile.absolutePath,
+            providers.gradleProperty("cdsRuns").getOrElse("10"),
+            cdsClasspath.get()
+        )
+    })
+}
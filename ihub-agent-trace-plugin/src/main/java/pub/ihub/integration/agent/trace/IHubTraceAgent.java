@@ -18,16 +18,30 @@ package pub.ihub.integration.agent.trace;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
 import net.bytebuddy.dynamic.scaffold.TypeValidation;
-import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import pub.ihub.integration.agent.core.IAspectDefinition;
+import pub.ihub.integration.agent.core.IHubAgentArguments;
+import pub.ihub.integration.agent.core.IHubAspectRegistry;
 import pub.ihub.integration.agent.core.IHubEnhancer;
+import pub.ihub.integration.agent.core.IHubEnhancerManager;
+import pub.ihub.integration.agent.core.IHubLazyInstaller;
+import pub.ihub.integration.agent.core.IHubRedefinitionListener;
+import pub.ihub.integration.agent.core.IHubRetransformation;
 import pub.ihub.integration.agent.core.IHubTransformer;
+import pub.ihub.integration.agent.core.loader.PluginJarIndex;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
 import pub.ihub.integration.agent.trace.context.IHubTraceContext;
+import pub.ihub.integration.agent.trace.context.IHubTraceSampler;
+import pub.ihub.integration.agent.trace.enhancer.TomcatAdviceEnhancer;
+import pub.ihub.integration.agent.trace.enhancer.TomcatAttributePolicy;
 import pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer;
+import pub.ihub.integration.core.AsyncLogAppender;
 import pub.ihub.integration.core.Logger;
 
 import java.lang.instrument.Instrumentation;
+import java.nio.file.Paths;
 import java.util.*;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
@@ -46,6 +60,55 @@ public class IHubTraceAgent {
 	 * v2
 	 */
 	private static final String TRANSFORMER_V_2 = "v2";
+	/**
+	 * 内联增强，增强结果可由字节码缓存复用
+	 */
+	private static final String TRANSFORMER_ADVICE = "advice";
+	/**
+	 * 延迟安装模式
+	 */
+	private static final String INSTALL_MODE_LAZY = "lazy";
+	/**
+	 * 运行期安装的增强器类名参数，多个以分号分隔
+	 */
+	private static final String ENHANCER_INSTALL = "agent.enhancer.install";
+	/**
+	 * 运行期卸载的增强器类名参数，多个以分号分隔
+	 */
+	private static final String ENHANCER_UNINSTALL = "agent.enhancer.uninstall";
+	/**
+	 * 运行期安装的增强器有效时长参数（毫秒），到期自动卸载，不大于0时不自动卸载
+	 */
+	private static final String ENHANCER_DURATION = "agent.enhancer.duration";
+	/**
+	 * 异步日志队列容量参数，大于0时启用异步日志输出
+	 */
+	private static final String LOG_ASYNC_CAPACITY = "agent.log.async.capacity";
+	/**
+	 * 异步日志溢出策略参数：drop（默认）/block
+	 */
+	private static final String LOG_ASYNC_OVERFLOW = "agent.log.async.overflow";
+	/**
+	 * 全局日志级别参数
+	 */
+	private static final String LOG_LEVEL = "agent.log.level";
+	/**
+	 * 命名日志配置参数，多个以分号分隔，每项为 名称前缀:级别[:每秒输出上限]，输出上限作用于与前缀同名的日志
+	 */
+	private static final String LOG_CATEGORIES = "agent.log.categories";
+
+	/**
+	 * 跟踪上下文是否已初始化
+	 */
+	private static boolean TRACE_CONTEXT_INITIALIZED;
+	/**
+	 * 增强器管理器
+	 */
+	private static IHubEnhancerManager ENHANCER_MANAGER;
+	/**
+	 * 代理加载时安装切面的分批重转换监听器
+	 */
+	private static IHubRedefinitionListener RETRANSFORMATION_LISTENER;
 
 	/**
 	 * The premain method to load the ihub agent
@@ -56,15 +119,209 @@ public class IHubTraceAgent {
 	public static void premain(String agentArgs, Instrumentation inst) {
 		Logger.info("The ihub agent start to load...");
 
-		// load the tracing context
+		// 代理参数，未指定的项回退至同名系统属性
+		IHubAgentArguments arguments = IHubAgentArguments.parse(agentArgs);
+		configureLogger(arguments);
+		configurePluginDir(arguments);
+		IHubTraceContext.setSampler(IHubTraceSampler.of(arguments));
+		TomcatAttributePolicy.configure(arguments);
+		String transformerVer = arguments.get("agent.transformer.version", TRANSFORMER_V_1);
+
+		if (INSTALL_MODE_LAZY.equals(arguments.get("agent.install.mode"))) {
+			if (TRANSFORMER_V_1.equals(transformerVer) || TRANSFORMER_ADVICE.equals(transformerVer)) {
+				// 仅注册触发类监听，延迟或触发后在后台线程安装，已加载类以内联方式重转换
+				new IHubLazyInstaller(inst, () -> install(inst, arguments, transformerVer, true),
+					arguments.get("agent.install.trigger"),
+					arguments.getLong("agent.install.delay", 0)).start();
+				Logger.info("The ihub agent will be installed lazily.");
+				return;
+			}
+			Logger.warn("Lazy install supports transformer v1 and advice only, install eagerly with transformer %s.", transformerVer);
+		}
+
+		install(inst, arguments, transformerVer, false);
+
+		Logger.info("The ihub agent has been loaded.");
+	}
+
+	/**
+	 * The agentmain method to attach the ihub agent at runtime
+	 * <p>
+	 * 按代理参数先卸载 agent.enhancer.uninstall 指定的增强器，再安装 agent.enhancer.install 指定的增强器；
+	 * 两者均未指定时安装默认的Tomcat增强器。重复attach与代理加载时的安装共用同一增强器管理器，已安装的增强器不再重复安装。
+	 * 采样器与属性策略仅在attach参数包含 agent.trace.sampler 或 agent.trace.attribute. 前缀的参数时重新配置。
+	 *
+	 * @param agentArgs the agent arguments
+	 * @param inst      the instrumentation instance
+	 */
+	public static void agentmain(String agentArgs, Instrumentation inst) {
+		Logger.info("The ihub agent start to attach...");
+
+		IHubAgentArguments arguments = IHubAgentArguments.parse(agentArgs);
+		configureLogger(arguments);
+		configurePluginDir(arguments);
+		// 仅在attach参数指定时重建采样器与属性策略，避免运行期安装、卸载增强器时重置代理加载时的配置
+		if (arguments.containsPrefix(IHubTraceSampler.SAMPLER)) {
+			IHubTraceContext.setSampler(IHubTraceSampler.of(arguments));
+		}
+		if (arguments.containsPrefix(TomcatAttributePolicy.PREFIX)) {
+			TomcatAttributePolicy.configure(arguments);
+		}
+		initTraceContext();
+		IHubEnhancerManager manager = enhancerManager(inst, arguments);
+
+		String uninstall = arguments.get(ENHANCER_UNINSTALL);
+		if (uninstall != null) {
+			for (String enhancerClass : uninstall.split(";")) {
+				manager.uninstall(enhancerClass.trim());
+			}
+		}
+		String install = arguments.get(ENHANCER_INSTALL, uninstall == null ? TomcatEnhancer.class.getName() : null);
+		if (install != null) {
+			long duration = arguments.getLong(ENHANCER_DURATION, 0);
+			for (String enhancerClass : install.split(";")) {
+				IHubEnhancer enhancer = newEnhancer(enhancerClass.trim());
+				if (enhancer != null) {
+					if (duration > 0) {
+						manager.install(enhancer, duration);
+					} else {
+						manager.install(enhancer);
+					}
+				}
+			}
+		}
+
+		Logger.info("The ihub agent has been attached, installed enhancers: %s", manager.getInstalled());
+	}
+
+	/**
+	 * 获取增强器管理器，用于运行期安装、卸载增强器
+	 *
+	 * @return 增强器管理器，代理未加载时为 null
+	 */
+	public static synchronized IHubEnhancerManager enhancerManager() {
+		return ENHANCER_MANAGER;
+	}
+
+	/**
+	 * 获取代理加载时安装切面的分批重转换监听器，用于读取各批次耗时；
+	 * 运行期安装增强器的批次耗时经 {@link IHubEnhancerManager#getRetransformation()} 读取
+	 *
+	 * @return 分批重转换监听器，切面未安装时为 null
+	 */
+	public static synchronized IHubRedefinitionListener retransformationListener() {
+		return RETRANSFORMATION_LISTENER;
+	}
+
+	private static synchronized IHubEnhancerManager enhancerManager(Instrumentation inst, IHubAgentArguments arguments) {
+		if (ENHANCER_MANAGER == null) {
+			ENHANCER_MANAGER = new IHubEnhancerManager(inst, newAgentBuilder().with(new Listener()), IHubRetransformation.of(arguments));
+		}
+		return ENHANCER_MANAGER;
+	}
+
+	private static IHubEnhancer newEnhancer(String enhancerClass) {
+		try {
+			return (IHubEnhancer) Class.forName(enhancerClass, true, IHubTraceAgent.class.getClassLoader())
+				.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			Logger.error("Enhancer " + enhancerClass + " can not be instantiated", e);
+			return null;
+		}
+	}
+
+	/**
+	 * 按代理参数配置日志级别、命名日志级别与限流，并启用异步日志输出，避免增强方法中的日志同步写标准输出
+	 * <p>
+	 * premain 与 agentmain 均生效，attach 时可调整日志配置；无法解析的级别、限流与溢出策略告警后忽略或使用默认值。
+	 *
+	 * @param arguments 代理参数
+	 */
+	private static void configureLogger(IHubAgentArguments arguments) {
+		String level = arguments.get(LOG_LEVEL);
+		if (level != null) {
+			Logger.Level globalLevel = level(level);
+			if (globalLevel != null) {
+				Logger.setLevel(globalLevel);
+			}
+		}
+		String categories = arguments.get(LOG_CATEGORIES);
+		if (categories != null) {
+			for (String category : categories.split(";")) {
+				String[] parts = category.trim().split(":");
+				Logger.Level categoryLevel = parts.length < 2 ? null : level(parts[1]);
+				if (categoryLevel == null) {
+					Logger.warn("Invalid log category %s, expected name:level[:rate].", category);
+					continue;
+				}
+				Logger.setLevel(parts[0], categoryLevel);
+				if (parts.length > 2) {
+					try {
+						Logger.getLogger(parts[0]).setRateLimit(Integer.parseInt(parts[2].trim()));
+					} catch (NumberFormatException e) {
+						Logger.warn("Invalid log rate limit %s for category %s, not limited.", parts[2], parts[0]);
+					}
+				}
+			}
+		}
+		int capacity = arguments.getInt(LOG_ASYNC_CAPACITY, 0);
+		if (capacity > 0) {
+			Logger.enableAsync(capacity, overflowPolicy(arguments.get(LOG_ASYNC_OVERFLOW, "drop")));
+		}
+	}
+
+	private static Logger.Level level(String value) {
+		try {
+			return Logger.Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			Logger.warn("Unknown log level %s, ignored.", value);
+			return null;
+		}
+	}
+
+	private static AsyncLogAppender.OverflowPolicy overflowPolicy(String value) {
+		try {
+			return AsyncLogAppender.OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			Logger.warn("Unknown log overflow policy %s, use drop.", value);
+			return AsyncLogAppender.OverflowPolicy.DROP;
+		}
+	}
+
+	/**
+	 * 按代理参数扫描插件目录，建立插件类加载器共享的包索引；未指定时按系统属性或默认插件 jar 延迟建立
+	 *
+	 * @param arguments 代理参数
+	 */
+	private static void configurePluginDir(IHubAgentArguments arguments) {
+		String pluginDir = arguments.get(PluginJarIndex.PLUGIN_DIR);
+		if (pluginDir != null) {
+			PluginJarIndex.configure(Paths.get(pluginDir), Boolean.parseBoolean(arguments.get(PluginJarIndex.PLUGIN_MMAP)));
+		}
+	}
+
+	/**
+	 * 初始化跟踪上下文，仅首次调用生效
+	 */
+	private static synchronized void initTraceContext() {
+		if (TRACE_CONTEXT_INITIALIZED) {
+			return;
+		}
 		List<SpanExporter> spanExporterList = new ArrayList<>();
 		spanExporterList.add(new LoggingSpanExporter());
 		IHubTraceContext.initTraceContext(spanExporterList);
+		TRACE_CONTEXT_INITIALIZED = true;
+	}
 
-		// load the tracing aspect
+	/**
+	 * 构建代理构建器，忽略Byte Buddy自身、字节码工具及合成类
+	 *
+	 * @return 代理构建器
+	 */
+	private static AgentBuilder newAgentBuilder() {
 		final ByteBuddy byteBuddy = new ByteBuddy().with(TypeValidation.of(false));
 
-		AgentBuilder agentBuilder = new AgentBuilder.Default(byteBuddy).ignore(
+		return new AgentBuilder.Default(byteBuddy).ignore(
 			nameStartsWith("net.bytebuddy.")
 				.or(nameStartsWith("org.slf4j."))
 				.or(nameStartsWith("org.groovy."))
@@ -73,61 +330,105 @@ public class IHubTraceAgent {
 				.or(nameContains(".reflectasm."))
 				.or(nameStartsWith("sun.reflect"))
 				.or(ElementMatchers.isSynthetic()));
+	}
+
+	/**
+	 * 安装追踪上下文与切面
+	 *
+	 * @param inst           the instrumentation instance
+	 * @param arguments      代理参数
+	 * @param transformerVer 切面转换器版本
+	 * @param lazy           是否延迟安装，延迟安装时已加载类以不改变类结构的方式重转换
+	 */
+	private static void install(Instrumentation inst, IHubAgentArguments arguments, String transformerVer, boolean lazy) {
+		// load the tracing context
+		initTraceContext();
+
+		// load the tracing aspect
+		AgentBuilder agentBuilder = newAgentBuilder();
 
 		Listener listener = new Listener();
 
-		Properties systemProperties = System.getProperties();
-		String transformerVer = systemProperties.getProperty("agent.transformer.version");
-		if (transformerVer == null) {
-			transformerVer = TRANSFORMER_V_1;
-		}
+		// 切面登记至增强器管理器，运行期可追加或卸载增强器；延迟安装前已由attach安装的增强器不再重复安装
+		IHubEnhancerManager manager = enhancerManager(inst, arguments);
+		synchronized (manager) {
+			// 所有切面汇总至注册表，以合并后的类匹配器与单一Transformer一次安装
+			IHubAspectRegistry registry = new IHubAspectRegistry();
+			List<String> names = new ArrayList<>(1);
+			if (TRANSFORMER_V_1.equals(transformerVer)) {
+				Logger.info("load transformer v1.");
+				register(manager, registry, names, new TomcatEnhancer());
+			} else if (TRANSFORMER_ADVICE.equals(transformerVer)) {
+				Logger.info("load transformer advice.");
+				register(manager, registry, names, new TomcatAdviceEnhancer());
+			} else if (TRANSFORMER_V_2.equals(transformerVer)) {
+				Map<String, String> aspectContexts = new HashMap<>(1);
+				aspectContexts.put("org.apache.catalina.core.StandardHostValve", "pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer");
 
-		if (TRANSFORMER_V_1.equals(transformerVer)) {
-			List<IHubEnhancer> enhancerList = new ArrayList<>();
-			enhancerList.add(new TomcatEnhancer());
+				Logger.info("load transformer v2.");
+				for (Map.Entry<String, String> aspectEntry : aspectContexts.entrySet()) {
+					String enhanceAspect = aspectEntry.getKey();
+					String enhanceClass = aspectEntry.getValue();
+					if (isNotInstalled(manager, enhanceClass)) {
+						registry.register(IHubTypeMatchers.named(enhanceAspect).and(not(isInterface())), IHubTransformer.build(enhanceClass));
+						names.add(enhanceClass);
+					}
+				}
+			} else {
+				Map<String, String> aspectContexts = new HashMap<>(1);
+				aspectContexts.put("org.apache.catalina.core.StandardHostValve", "pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer");
+
+				Logger.info("load transformer v3.");
+				for (Map.Entry<String, String> aspectEntry : aspectContexts.entrySet()) {
+					String enhanceClass = aspectEntry.getKey();
+					String enhanceAspect = aspectEntry.getValue();
+					if (isNotInstalled(manager, enhanceAspect)) {
+						registry.register(IHubTypeMatchers.named(enhanceClass).and(not(isInterface())), IHubTransformer.buildWithEnhancerInstanceLoader(enhanceAspect));
+						names.add(enhanceAspect);
+					}
+				}
+			}
+			if (registry.isEmpty()) {
+				return;
+			}
 
-			Logger.info("load transformer v1.");
-			for (IHubEnhancer enhancer : enhancerList) {
-				ElementMatcher.Junction matcher = enhancer.enhanceClass();
-				agentBuilder.type(matcher)
-					.transform(IHubTransformer.build(enhancer))
-					.with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-					.with(listener)
-					.installOn(inst);
+			// 增强类字节码缓存目录，未配置时不启用；仅内联增强（agent.transformer.version=advice）的类可被缓存
+			String cacheDir = arguments.get("agent.cache.dir");
+			if (cacheDir != null) {
+				registry.enableCache(Paths.get(cacheDir));
 			}
-		} else if (TRANSFORMER_V_2.equals(transformerVer)) {
-			Map<String, String> aspectContexts = new HashMap<>(1);
-			aspectContexts.put("org.apache.catalina.core.StandardHostValve", "pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer");
-
-			Logger.info("load transformer v2.");
-			for (Map.Entry<String, String> aspectEntry : aspectContexts.entrySet()) {
-				String enhanceAspect = aspectEntry.getKey();
-				String enhanceClass = aspectEntry.getValue();
-				ElementMatcher.Junction matcher = named(enhanceAspect).and(not(isInterface()));
-				agentBuilder.type(matcher)
-					.transform(IHubTransformer.build(enhanceClass))
-					.with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-					.with(listener)
-					.installOn(inst);
+			if (lazy) {
+				registry.enableInlining();
+				agentBuilder = agentBuilder.disableClassFormatChanges();
 			}
-		} else {
-			Map<String, String> aspectContexts = new HashMap<>(1);
-			aspectContexts.put("org.apache.catalina.core.StandardHostValve", "pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer");
-
-			Logger.info("load transformer v3.");
-			for (Map.Entry<String, String> aspectEntry : aspectContexts.entrySet()) {
-				String enhanceClass = aspectEntry.getKey();
-				String enhanceAspect = aspectEntry.getValue();
-				ElementMatcher.Junction matcher = named(enhanceClass).and(not(isInterface()));
-				agentBuilder.type(matcher)
-					.transform(IHubTransformer.buildWithEnhancerInstanceLoader(enhanceAspect))
-					.with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-					.with(listener)
-					.installOn(inst);
+
+			// 已加载类按批重转换，批次大小、发现策略与批次间暂停由代理参数配置；
+			// 立即安装时应用线程尚未运行，批次间暂停只会推迟启动，仅延迟安装时暂停
+			IHubRetransformation retransformation = lazy ? IHubRetransformation.of(arguments) : IHubRetransformation.of(arguments).withoutPause();
+			ResettableClassFileTransformer transformer = retransformation.apply(registry.apply(agentBuilder))
+				.with(listener)
+				.installOn(inst);
+			synchronized (IHubTraceAgent.class) {
+				RETRANSFORMATION_LISTENER = retransformation.getListener();
 			}
+			manager.register(registry, transformer, names);
 		}
+	}
 
-		Logger.info("The ihub agent has been loaded.");
+	private static void register(IHubEnhancerManager manager, IHubAspectRegistry registry, List<String> names, IAspectDefinition definition) {
+		String name = definition.getClass().getName();
+		if (isNotInstalled(manager, name)) {
+			registry.register(definition);
+			names.add(name);
+		}
+	}
+
+	private static boolean isNotInstalled(IHubEnhancerManager manager, String name) {
+		if (manager.isInstalled(name)) {
+			Logger.info("Enhancer %s is already installed, skip.", name);
+			return false;
+		}
+		return true;
 	}
 
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.cds;
+
+import pub.ihub.integration.core.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CDS 启动耗时测量
+ * <p>
+ * 分别以不挂载代理、挂载代理、挂载代理并使用 CDS 归档三种方式多次启动空应用，报告代理带来的启动耗时及归档节省的耗时。
+ * 使用归档时以 -Xshare:on 启动，归档与类路径或 JDK 不匹配时直接失败而非静默回退。
+ * 参数依次为：归档文件、每种方式的启动次数、应用类路径（可选，须与生成归档时一致）。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubCdsStartup {
+
+	/**
+	 * 空应用参数
+	 */
+	private static final String NOOP = "--noop";
+
+	private IHubCdsStartup() {
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException, URISyntaxException {
+		if (args.length > 0 && NOOP.equals(args[0])) {
+			return;
+		}
+		if (args.length < 2) {
+			throw new IllegalArgumentException("usage: IHubCdsStartup <archive> <runs> [application classpath]");
+		}
+		String archive = new File(args[0]).getAbsolutePath();
+		int runs = Integer.parseInt(args[1]);
+		String agentJar = IHubCdsTraining.agentJar().getAbsolutePath();
+		String classpath = args.length > 2 && !args[2].isEmpty() ? args[2] + File.pathSeparator + agentJar : agentJar;
+
+		long baseline = measure(runs, classpath);
+		long agent = measure(runs, classpath, "-javaagent:" + agentJar);
+		long shared = measure(runs, classpath, "-Xshare:on", "-XX:SharedArchiveFile=" + archive, "-javaagent:" + agentJar);
+		Logger.info("JVM startup median of %d runs: baseline %d ms, agent %d ms, agent with CDS archive %d ms.", runs, baseline, agent, shared);
+		Logger.info("Agent startup delta: %d ms without archive, %d ms with archive, archive saves %d ms.",
+			agent - baseline, shared - baseline, agent - shared);
+	}
+
+	/**
+	 * 启动空应用并返回耗时中位数，首次启动作为预热不计入
+	 *
+	 * @param runs      启动次数
+	 * @param classpath 类路径
+	 * @param jvmArgs   JVM 参数
+	 * @return 耗时中位数（毫秒）
+	 */
+	private static long measure(int runs, String classpath, String... jvmArgs) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(Arrays.asList(jvmArgs));
+		command.addAll(Arrays.asList("-cp", classpath, IHubCdsStartup.class.getName(), NOOP));
+		ProcessBuilder builder = new ProcessBuilder(command)
+			.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+			.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+		long[] millis = new long[runs];
+		for (int i = -1; i < runs; i++) {
+			long start = System.nanoTime();
+			int exitCode = builder.start().waitFor();
+			if (exitCode != 0) {
+				throw new IllegalStateException("startup failed with exit code " + exitCode + ": " + String.join(" ", command));
+			}
+			if (i >= 0) {
+				millis[i] = (System.nanoTime() - start) / 1_000_000;
+			}
+		}
+		Arrays.sort(millis);
+		return millis[runs / 2];
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.cds;
+
+import pub.ihub.integration.core.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * CDS 训练模式
+ * <p>
+ * 加载代理 jar 中代理自身的类（IHub、Byte Buddy 与 OpenTelemetry），配合 -XX:ArchiveClassesAtExit 在退出时生成动态 CDS 归档。
+ * 训练时代理 jar 须位于类路径末尾且不挂载 -javaagent，运行时以相同类路径、相同 JDK 启动并指定 -XX:SharedArchiveFile，
+ * 代理类即由归档映射，免去解析与校验：
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=ihub-agent.jsa -cp app.jar:ihub-agent.jar pub.ihub.integration.agent.trace.cds.IHubCdsTraining
+ * java -XX:SharedArchiveFile=ihub-agent.jsa -javaagent:ihub-agent.jar -cp app.jar:ihub-agent.jar ...
+ * </pre>
+ * 构建时可通过 ./gradlew :ihub-agent-trace-plugin:cdsArchive 生成归档。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class IHubCdsTraining {
+
+	/**
+	 * 纳入归档的代理类包前缀
+	 */
+	private static final String[] AGENT_PACKAGES = {"pub/ihub/", "net/bytebuddy/", "io/opentelemetry/"};
+
+	private IHubCdsTraining() {
+	}
+
+	public static void main(String[] args) throws IOException, URISyntaxException {
+		File agentJar = agentJar();
+		ClassLoader loader = IHubCdsTraining.class.getClassLoader();
+		int loaded = 0;
+		int skipped = 0;
+		long start = System.nanoTime();
+		try (JarFile jarFile = new JarFile(agentJar)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				String className = classNameOf(entries.nextElement().getName());
+				if (className == null) {
+					continue;
+				}
+				try {
+					Class.forName(className, false, loader);
+					loaded++;
+				} catch (ClassNotFoundException | LinkageError e) {
+					// 可选依赖缺失的类不纳入归档
+					skipped++;
+				}
+			}
+		}
+		Logger.info("CDS training loaded %d agent classes from %s, skipped %d, took %d ms.",
+			loaded, agentJar, skipped, (System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * 代理 jar，即本类所在的 jar
+	 *
+	 * @return 代理 jar
+	 */
+	static File agentJar() throws URISyntaxException {
+		File file = new File(IHubCdsTraining.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		if (!file.isFile()) {
+			throw new IllegalStateException("CDS training must run from the agent jar: " + file);
+		}
+		return file;
+	}
+
+	private static String classNameOf(String entryName) {
+		if (!entryName.endsWith(".class") || entryName.endsWith("module-info.class") || entryName.startsWith("META-INF/")) {
+			return null;
+		}
+		for (String prefix : AGENT_PACKAGES) {
+			if (entryName.startsWith(prefix)) {
+				return entryName.substring(0, entryName.length() - 6).replace('/', '.');
+			}
+		}
+		return null;
+	}
+
+}
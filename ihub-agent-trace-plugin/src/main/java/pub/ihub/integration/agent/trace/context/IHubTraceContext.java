@@ -45,6 +45,10 @@ public class IHubTraceContext {
 	 * 跟踪实例
 	 */
 	private static OpenTelemetry TelemetryInst;
+	/**
+	 * 头部采样器
+	 */
+	private static volatile IHubTraceSampler SamplerInst = IHubTraceSampler.always();
 
 	/**
 	 * 初始化跟踪上下文
@@ -84,13 +88,32 @@ public class IHubTraceContext {
 		return TracerInst;
 	}
 
+	/**
+	 * 设置头部采样器
+	 *
+	 * @param sampler 采样器
+	 */
+	public static void setSampler(IHubTraceSampler sampler) {
+		SamplerInst = sampler;
+	}
+
+	/**
+	 * 获取头部采样器
+	 *
+	 * @return 采样器
+	 */
+	public static IHubTraceSampler sampler() {
+		return SamplerInst;
+	}
+
 	/**
 	 * 获取文本传播器
 	 *
-	 * @return 文本传播器
+	 * @return 文本传播器，跟踪上下文初始化前为与之相同的 W3C 传播器
 	 */
 	public static TextMapPropagator textPropagator() {
-		return TelemetryInst.getPropagators().getTextMapPropagator();
+		OpenTelemetry telemetry = TelemetryInst;
+		return telemetry == null ? W3CTraceContextPropagator.getInstance() : telemetry.getPropagators().getTextMapPropagator();
 	}
 
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.context;
+
+import io.opentelemetry.api.trace.SpanContext;
+import pub.ihub.integration.agent.core.IHubAgentArguments;
+import pub.ihub.integration.core.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 头部采样
+ * <p>
+ * 每个请求入口处决策一次，未采样的请求不创建 Span、不提取属性也不记录日志。
+ * 决策基于父级：携带有效上游上下文的请求沿用上游的采样标记，保证分布式链路完整；仅根请求按采样策略决策。按代理参数配置：
+ * <ul>
+ *     <li>agent.trace.sampler：采样策略，always 全部采样，ratio 按比例采样，rate 每秒限量采样，默认 always</li>
+ *     <li>agent.trace.sampler.ratio：ratio 策略的采样比例，取值 0~1，默认1</li>
+ *     <li>agent.trace.sampler.rate：rate 策略每秒采样的请求数，默认100</li>
+ * </ul>
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface IHubTraceSampler {
+
+	/**
+	 * 采样策略参数
+	 */
+	String SAMPLER = "agent.trace.sampler";
+	/**
+	 * 采样比例参数
+	 */
+	String RATIO = "agent.trace.sampler.ratio";
+	/**
+	 * 每秒采样数参数
+	 */
+	String RATE = "agent.trace.sampler.rate";
+
+	/**
+	 * 是否采样当前请求
+	 *
+	 * @return 是否采样
+	 */
+	boolean sample();
+
+	/**
+	 * 按父级决策是否采样当前请求，父级有效时沿用其采样标记，否则按采样策略决策
+	 *
+	 * @param parent 父级 Span 上下文，通常为从请求头提取的上游上下文
+	 * @return 是否采样
+	 */
+	default boolean sample(SpanContext parent) {
+		if (parent.isValid()) {
+			return parent.isSampled();
+		}
+		return sample();
+	}
+
+	/**
+	 * 按代理参数构建采样器
+	 *
+	 * @param arguments 代理参数
+	 * @return 采样器
+	 */
+	static IHubTraceSampler of(IHubAgentArguments arguments) {
+		String sampler = arguments.get(SAMPLER, "always");
+		switch (sampler) {
+			case "always":
+				return always();
+			case "ratio":
+				return ratio(arguments.getDouble(RATIO, 1));
+			case "rate":
+				return rateLimited(arguments.getInt(RATE, 100));
+			default:
+				Logger.warn("Unknown trace sampler %s, sample all requests.", sampler);
+				return always();
+		}
+	}
+
+	/**
+	 * 全部采样
+	 *
+	 * @return 采样器
+	 */
+	static IHubTraceSampler always() {
+		return () -> true;
+	}
+
+	/**
+	 * 按比例采样
+	 *
+	 * @param ratio 采样比例，不大于0时不采样，不小于1时全部采样
+	 * @return 采样器
+	 */
+	static IHubTraceSampler ratio(double ratio) {
+		if (ratio >= 1) {
+			return always();
+		}
+		if (ratio <= 0) {
+			return () -> false;
+		}
+		return () -> ThreadLocalRandom.current().nextDouble() < ratio;
+	}
+
+	/**
+	 * 每秒限量采样，每秒前若干个请求被采样
+	 *
+	 * @param permitsPerSecond 每秒采样数，不大于0时不采样
+	 * @return 采样器
+	 */
+	static IHubTraceSampler rateLimited(int permitsPerSecond) {
+		if (permitsPerSecond <= 0) {
+			return () -> false;
+		}
+		long windowNanos = TimeUnit.SECONDS.toNanos(1);
+		AtomicLong windowStart = new AtomicLong(System.nanoTime());
+		AtomicInteger permits = new AtomicInteger();
+		return () -> {
+			long now = System.nanoTime();
+			long start = windowStart.get();
+			if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+				permits.set(0);
+			}
+			// 已达上限时不再递增，避免超限请求争用计数器
+			return permits.get() < permitsPerSecond && permits.incrementAndGet() <= permitsPerSecond;
+		};
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.context.Scope;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.catalina.connector.Request;
+import pub.ihub.integration.agent.core.IHubAdviceEnhancer;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
+import pub.ihub.integration.core.Logger;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Tomcat 请求追踪内联增强
+ * <p>
+ * 与 {@link TomcatEnhancer} 追踪逻辑相同，以 Advice 内联至 StandardHostValve.invoke，本次分派的 Scope 经 {@link Advice.Enter} 传递；
+ * 增强结果不依赖增强器实例注入，可由字节码缓存跨JVM重启复用。通过代理参数 agent.transformer.version=advice 启用。
+ * <p>
+ * 内联代码在 Tomcat 类中执行，仅调用本类的公开静态方法。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public class TomcatAdviceEnhancer implements IHubAdviceEnhancer {
+
+	private static final String OPERATION = TomcatEnhancer.ENHANCE_CLASS + "." + TomcatEnhancer.ENHANCE_METHOD;
+
+	@Override
+	public ElementMatcher.Junction<TypeDescription> enhanceClass() {
+		return IHubTypeMatchers.named(TomcatEnhancer.ENHANCE_CLASS).and(not(isInterface()));
+	}
+
+	@Override
+	public ElementMatcher<MethodDescription> getMethodsMatcher() {
+		return named(TomcatEnhancer.ENHANCE_METHOD);
+	}
+
+	@Advice.OnMethodEnter(suppress = Throwable.class)
+	static Object enter(@Advice.Argument(0) Request request) {
+		return onEnter(request);
+	}
+
+	@Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+	static void exit(@Advice.Argument(0) Request request, @Advice.Enter Object scope, @Advice.Thrown Throwable thrown) {
+		onExit(request, scope, thrown);
+	}
+
+	/**
+	 * 分派开始
+	 *
+	 * @param request 请求
+	 * @return 本次分派打开的 Scope，未采样的请求为 null
+	 */
+	public static Object onEnter(Request request) {
+		try {
+			return TomcatEnhancer.enter(request, OPERATION);
+		} catch (Throwable t) {
+			Logger.error("TomcatAdviceEnhancer failure - enter, msg = %s", t.toString());
+			return null;
+		}
+	}
+
+	/**
+	 * 分派结束
+	 *
+	 * @param request 请求
+	 * @param scope   本次分派打开的 Scope，未采样的请求为 null
+	 * @param thrown  分派抛出的异常，正常返回时为 null
+	 */
+	public static void onExit(Request request, Object scope, Throwable thrown) {
+		if (scope == null) {
+			return;
+		}
+		try {
+			if (thrown != null) {
+				TomcatEnhancer.markError(request);
+			}
+			TomcatEnhancer.exit(request, OPERATION, (Scope) scope);
+		} catch (Throwable t) {
+			Logger.error("TomcatAdviceEnhancer failure - exit, msg = %s", t.toString());
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import org.apache.catalina.connector.Request;
+import pub.ihub.integration.agent.core.IHubAgentArguments;
+import pub.ihub.integration.core.Logger;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tomcat 请求 Span 属性策略
+ * <p>
+ * 请求方法、URI、远端地址与端口在 Span 创建时写入；开销较大的属性按策略采集，策略通过代理参数配置：
+ * <ul>
+ *     <li>agent.trace.attribute.url：完整请求 URL，默认 slow-or-error</li>
+ *     <li>agent.trace.attribute.remote-user：远端用户，默认 slow-or-error</li>
+ *     <li>agent.trace.attribute.remote-host：远端主机名，可能触发反向 DNS 查询，默认 never</li>
+ *     <li>agent.trace.attribute.slow-threshold：慢请求阈值（毫秒），默认1000</li>
+ * </ul>
+ * 取值 always 在 Span 创建时采集，slow-or-error 仅在请求结束时对慢请求或异常请求采集，never 不采集。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class TomcatAttributePolicy {
+
+	/**
+	 * 策略参数前缀
+	 */
+	public static final String PREFIX = "agent.trace.attribute.";
+
+	static final AttributeKey<String> URL = AttributeKey.stringKey("URL");
+	static final AttributeKey<String> METHOD = AttributeKey.stringKey("METHOD");
+	static final AttributeKey<String> URI = AttributeKey.stringKey("URI");
+	static final AttributeKey<String> REMOTE_ADDR = AttributeKey.stringKey("RemoteAddr");
+	static final AttributeKey<String> REMOTE_HOST = AttributeKey.stringKey("RemoteHost");
+	static final AttributeKey<Long> REMOTE_PORT = AttributeKey.longKey("RemotePort");
+	static final AttributeKey<String> REMOTE_USER = AttributeKey.stringKey("RemoteUser");
+	static final AttributeKey<String> COMPONENT = AttributeKey.stringKey("Component");
+
+	/**
+	 * 当前策略
+	 */
+	private static volatile TomcatAttributePolicy CURRENT =
+		new TomcatAttributePolicy(Capture.SLOW_OR_ERROR, Capture.SLOW_OR_ERROR, Capture.NEVER, TimeUnit.SECONDS.toNanos(1));
+
+	private final Capture url;
+	private final Capture remoteUser;
+	private final Capture remoteHost;
+	private final long slowThresholdNanos;
+	/**
+	 * 是否存在结束时采集的属性
+	 */
+	private final boolean deferred;
+
+	private TomcatAttributePolicy(Capture url, Capture remoteUser, Capture remoteHost, long slowThresholdNanos) {
+		this.url = url;
+		this.remoteUser = remoteUser;
+		this.remoteHost = remoteHost;
+		this.slowThresholdNanos = slowThresholdNanos;
+		this.deferred = url == Capture.SLOW_OR_ERROR || remoteUser == Capture.SLOW_OR_ERROR || remoteHost == Capture.SLOW_OR_ERROR;
+	}
+
+	/**
+	 * 按代理参数配置当前策略
+	 *
+	 * @param arguments 代理参数
+	 */
+	public static void configure(IHubAgentArguments arguments) {
+		CURRENT = new TomcatAttributePolicy(
+			capture(arguments, "url", Capture.SLOW_OR_ERROR),
+			capture(arguments, "remote-user", Capture.SLOW_OR_ERROR),
+			capture(arguments, "remote-host", Capture.NEVER),
+			TimeUnit.MILLISECONDS.toNanos(arguments.getLong(PREFIX + "slow-threshold", 1000)));
+	}
+
+	private static Capture capture(IHubAgentArguments arguments, String attribute, Capture defaultValue) {
+		String value = arguments.get(PREFIX + attribute);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Capture.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			Logger.warn("Unknown capture %s for attribute %s, use %s.", value, attribute, defaultValue);
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * 当前策略
+	 *
+	 * @return 当前策略
+	 */
+	static TomcatAttributePolicy current() {
+		return CURRENT;
+	}
+
+	/**
+	 * Span 创建前写入属性
+	 *
+	 * @param builder Span 构建器
+	 * @param request 请求
+	 */
+	void onStart(SpanBuilder builder, Request request) {
+		builder.setAttribute(METHOD, request.getMethod())
+			.setAttribute(URI, request.getRequestURI())
+			.setAttribute(REMOTE_ADDR, request.getRemoteAddr())
+			.setAttribute(REMOTE_PORT, (long) request.getRemotePort())
+			.setAttribute(COMPONENT, "Tomcat");
+		if (url == Capture.ALWAYS) {
+			builder.setAttribute(URL, request.getRequestURL().toString());
+		}
+		if (remoteUser == Capture.ALWAYS) {
+			builder.setAttribute(REMOTE_USER, request.getRemoteUser());
+		}
+		if (remoteHost == Capture.ALWAYS) {
+			builder.setAttribute(REMOTE_HOST, request.getRemoteHost());
+		}
+	}
+
+	/**
+	 * Span 结束前对慢请求或异常请求补充属性
+	 *
+	 * @param span    Span
+	 * @param request 请求
+	 * @param error   请求是否异常
+	 */
+	void onEnd(Span span, Request request, boolean error) {
+		if (!deferred || !(error || isSlow(span))) {
+			return;
+		}
+		if (url == Capture.SLOW_OR_ERROR) {
+			span.setAttribute(URL, request.getRequestURL().toString());
+		}
+		if (remoteUser == Capture.SLOW_OR_ERROR) {
+			span.setAttribute(REMOTE_USER, request.getRemoteUser());
+		}
+		if (remoteHost == Capture.SLOW_OR_ERROR) {
+			span.setAttribute(REMOTE_HOST, request.getRemoteHost());
+		}
+	}
+
+	private boolean isSlow(Span span) {
+		return span instanceof ReadableSpan && ((ReadableSpan) span).getLatencyNanos() >= slowThresholdNanos;
+	}
+
+	/**
+	 * 属性采集方式
+	 */
+	public enum Capture {
+
+		/**
+		 * Span 创建时采集
+		 */
+		ALWAYS,
+		/**
+		 * 仅在请求结束时对慢请求或异常请求采集
+		 */
+		SLOW_OR_ERROR,
+		/**
+		 * 不采集
+		 */
+		NEVER
+
+	}
+
+}
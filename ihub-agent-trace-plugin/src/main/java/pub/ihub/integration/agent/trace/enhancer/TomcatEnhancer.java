@@ -16,37 +16,54 @@
 package pub.ihub.integration.agent.trace.enhancer;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.Scope;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.catalina.connector.Request;
 import pub.ihub.integration.agent.core.IHubEnhancer;
+import pub.ihub.integration.agent.core.MethodDescriptor;
+import pub.ihub.integration.agent.core.MethodInvocationContext;
+import pub.ihub.integration.agent.core.matcher.IHubTypeMatchers;
 import pub.ihub.integration.agent.trace.context.IHubTraceContext;
+import pub.ihub.integration.core.LogTemplate;
 import pub.ihub.integration.core.Logger;
-
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.List;
+import pub.ihub.integration.core.NamedLogger;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
 /**
+ * Tomcat 请求追踪增强
+ * <p>
+ * 每个请求按头部采样器决策一次，携带上游上下文的请求沿用上游采样标记；
+ * 未采样的请求在请求上记录未采样标记后直接放行，异步重新分派沿用首次决策；采样请求的调试日志通过命名日志
+ * pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer 以 DEBUG 级别开启，可配合限流使用。
+ * <p>
+ * 采样请求的 Span 以 {@link TomcatRequestSpan} 保存在请求上，Servlet 异步重新分派时沿用同一 Span；
+ * 每次分派打开的 Scope 作为调用附件保存在本次调用上下文中，方法退出时在同一线程上关闭，
+ * 不依赖 ThreadLocal，线程复用时不会残留上一个请求的上下文。
+ * 同步请求在分派结束时结束 Span，异步请求在 {@code AsyncContext} 完成时结束。
+ * <p>
+ * 追踪逻辑与内联版本 {@link TomcatAdviceEnhancer} 共用。
+ *
  * @author henry
  * @since 2024/4/21
  */
 public class TomcatEnhancer implements IHubEnhancer {
 
-	private static final String ENHANCE_CLASS = "org.apache.catalina.core.StandardHostValve";
-	private static final String ENHANCE_METHOD = "invoke";
+	private static final NamedLogger LOGGER = Logger.getLogger(TomcatEnhancer.class);
+	private static final LogTemplate BEFORE_METHOD = LogTemplate.of("[trace]beforeMethod(), method = %s");
+	private static final LogTemplate AFTER_METHOD = LogTemplate.of("[trace]afterMethod(), method = %s, async = %s");
+	private static final LogTemplate HANDLE_METHOD_EXCEPTION = LogTemplate.of("[trace]handleMethodException(), method = %s");
 
-	private static ThreadLocal<Span> spanThreadLocal = new ThreadLocal<>();
+	static final String ENHANCE_CLASS = "org.apache.catalina.core.StandardHostValve";
+	static final String ENHANCE_METHOD = "invoke";
 
 	@Override
 	public ElementMatcher.Junction enhanceClass() {
-		return named(ENHANCE_CLASS).and(not(isInterface()));
+		return IHubTypeMatchers.named(ENHANCE_CLASS).and(not(isInterface()));
 	}
 
 	@Override
@@ -60,66 +77,105 @@ public class TomcatEnhancer implements IHubEnhancer {
 	}
 
 	@Override
-	public void beforeMethod(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object result) throws Throwable {
-		Logger.info("[trace]beforeMethod(), method = %s.%s", method.getDeclaringClass().getName(), method.getName());
-		Request request = (Request) allArguments[0];
-
-		TextMapGetter<Request> getter =
-			new TextMapGetter<Request>() {
-				@Override
-				public String get(Request carrier, String key) {
-					return carrier.getHeader(key);
-				}
-
-				@Override
-				public Iterable<String> keys(Request carrier) {
-					List<String> keys = new ArrayList<>();
-					for (final Enumeration<String> headers = carrier.getParameterNames(); headers.hasMoreElements(); ) {
-						final String name = headers.nextElement();
-						keys.add(name);
-					}
-					return keys;
-				}
-			};
-
-		Context extractedContext = IHubTraceContext.textPropagator().extract(Context.current(), request, getter);
-		extractedContext.makeCurrent();
-
-		String operationName = String.format("%s %s", request.getMethod(), request.getRequestURI());
-		Span span = IHubTraceContext.tracer().spanBuilder(operationName)
-			.setSpanKind(SpanKind.PRODUCER)
-			.startSpan()
-			.setAttribute("URL", request.getRequestURL().toString())
-			.setAttribute("METHOD", request.getMethod())
-			.setAttribute("URI", request.getRequestURI())
-			.setAttribute("RemoteAddr", request.getRemoteAddr())
-			.setAttribute("RemoteHost", request.getRemoteHost())
-			.setAttribute("RemotePort", request.getRemotePort())
-			.setAttribute("RemoteUser", request.getRemoteUser())
-			.setAttribute("Component", "Tomcat");
-		span.makeCurrent();
-		spanThreadLocal.set(span);
+	public void beforeMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, MethodInvocationContext context) throws Throwable {
+		Scope scope = enter((Request) allArguments[0], method.getOperationName());
+		if (scope != null) {
+			context.setAttachment(scope);
+		}
 	}
 
 	@Override
-	public Object afterMethod(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object result) throws Throwable {
-		Logger.info("[trace]afterMethod(), method = %s.%s", method.getDeclaringClass().getName(), method.getName());
-		endCurrenSpan();
+	public Object afterMethod(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Object result,
+							  MethodInvocationContext context) throws Throwable {
+		Scope scope = (Scope) context.getAttachment();
+		if (scope != null) {
+			exit((Request) allArguments[0], method.getOperationName(), scope);
+		}
 		return null;
 	}
 
 	@Override
-	public void handleMethodException(Object objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t) {
-		Logger.info("[trace]handleMethodException(), method = %s.%s", method.getDeclaringClass().getName(), method.getName());
-		endCurrenSpan();
+	public void handleMethodException(Object objInst, MethodDescriptor method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t,
+									  MethodInvocationContext context) {
+		if (context.getAttachment() == null) {
+			return;
+		}
+		LOGGER.debug(HANDLE_METHOD_EXCEPTION, method.getOperationName());
+		markError((Request) allArguments[0]);
+	}
+
+	/**
+	 * 分派开始：按首次采样决策开始或沿用请求 Span，并在当前线程上打开 Scope
+	 *
+	 * @param request   请求
+	 * @param operation 增强方法名称
+	 * @return 本次分派打开的 Scope，未采样的请求为 null
+	 */
+	static Scope enter(Request request, String operation) {
+		Object note = request.getNote(TomcatRequestSpan.NOTE);
+		if (note == TomcatRequestSpan.NOT_SAMPLED) {
+			return null;
+		}
+		TomcatRequestSpan requestSpan = (TomcatRequestSpan) note;
+		if (requestSpan == null) {
+			// 上游上下文决定采样标记，仅根请求按采样策略决策
+			Context extractedContext = IHubTraceContext.textPropagator().extract(Context.current(), request, TomcatHeaderGetter.INSTANCE);
+			if (!IHubTraceContext.sampler().sample(Span.fromContext(extractedContext).getSpanContext())) {
+				// 请求回收时容器清空备注，标记仅在本次请求的各次分派间有效
+				request.setNote(TomcatRequestSpan.NOTE, TomcatRequestSpan.NOT_SAMPLED);
+				return null;
+			}
+			requestSpan = startSpan(request, extractedContext);
+			request.setNote(TomcatRequestSpan.NOTE, requestSpan);
+		}
+		LOGGER.debug(BEFORE_METHOD, operation);
+		return requestSpan.context().makeCurrent();
 	}
 
-	private void endCurrenSpan() {
-		Span span = spanThreadLocal.get();
-		if (span != null) {
-			span.end();
-			spanThreadLocal.remove();
+	/**
+	 * 分派结束：同步请求结束 Span，异步请求等待异步周期完成，最后关闭本次分派的 Scope
+	 *
+	 * @param request   请求
+	 * @param operation 增强方法名称
+	 * @param scope     本次分派打开的 Scope
+	 */
+	static void exit(Request request, String operation, Scope scope) {
+		try {
+			// 请求回收后备注已被清空，此时无需结束 Span
+			TomcatRequestSpan requestSpan = TomcatRequestSpan.of(request);
+			boolean async = requestSpan != null && requestSpan.dispatched();
+			LOGGER.debug(AFTER_METHOD, operation, async);
+		} finally {
+			scope.close();
 		}
 	}
 
+	/**
+	 * 标记请求异常
+	 *
+	 * @param request 请求
+	 */
+	static void markError(Request request) {
+		TomcatRequestSpan requestSpan = TomcatRequestSpan.of(request);
+		if (requestSpan != null) {
+			requestSpan.markError();
+		}
+	}
+
+	/**
+	 * 以请求头中的上游上下文为父级开始请求 Span
+	 *
+	 * @param request          请求
+	 * @param extractedContext 包含上游上下文的上下文
+	 * @return 请求 Span
+	 */
+	private static TomcatRequestSpan startSpan(Request request, Context extractedContext) {
+		SpanBuilder spanBuilder = IHubTraceContext.tracer().spanBuilder(request.getMethod() + " " + request.getRequestURI())
+			.setParent(extractedContext)
+			.setSpanKind(SpanKind.PRODUCER);
+		TomcatAttributePolicy.current().onStart(spanBuilder, request);
+		Span span = spanBuilder.startSpan();
+		return new TomcatRequestSpan(span, extractedContext.with(span), request);
+	}
+
 }
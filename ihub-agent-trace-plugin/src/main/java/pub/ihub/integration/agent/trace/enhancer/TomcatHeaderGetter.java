@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.context.propagation.TextMapGetter;
+import org.apache.catalina.connector.Request;
+import org.apache.tomcat.util.buf.MessageBytes;
+import org.apache.tomcat.util.http.MimeHeaders;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Tomcat 请求头读取器
+ * <p>
+ * 无状态单例，直接读取 Tomcat 的 {@link MimeHeaders}，不复制请求头，也不访问请求参数，避免触发表单请求体解析。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+enum TomcatHeaderGetter implements TextMapGetter<Request> {
+
+	/**
+	 * 单例
+	 */
+	INSTANCE;
+
+	@Override
+	public String get(Request carrier, String key) {
+		if (carrier == null) {
+			return null;
+		}
+		return carrier.getCoyoteRequest().getMimeHeaders().getHeader(key);
+	}
+
+	@Override
+	public Iterable<String> keys(Request carrier) {
+		if (carrier == null) {
+			return Collections.emptyList();
+		}
+		MimeHeaders headers = carrier.getCoyoteRequest().getMimeHeaders();
+		return () -> new HeaderNames(headers);
+	}
+
+	/**
+	 * 按下标遍历请求头名称
+	 */
+	private static final class HeaderNames implements Iterator<String> {
+
+		private final MimeHeaders headers;
+		private int index;
+
+		private HeaderNames(MimeHeaders headers) {
+			this.headers = headers;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < headers.size();
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			MessageBytes name = headers.getName(index++);
+			return name.toString();
+		}
+
+	}
+
+}
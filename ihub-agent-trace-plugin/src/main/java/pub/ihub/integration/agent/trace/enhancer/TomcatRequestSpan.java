@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.apache.catalina.connector.Request;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tomcat 请求 Span
+ * <p>
+ * 以请求备注（note）保存在 Tomcat 请求上，贯穿首次分派与异步重新分派；每次分派在各自线程上打开并关闭 Scope，
+ * 请求进入异步模式后注册为 {@link AsyncContext} 监听器，在异步周期完成时结束 Span，使 Span 时长与真实请求延迟一致。
+ * <p>
+ * 结束动作由 CAS 保证仅执行一次，不使用同步块，不会钉住虚拟线程。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+final class TomcatRequestSpan implements AsyncListener {
+
+	/**
+	 * 请求备注名称
+	 */
+	static final String NOTE = "pub.ihub.integration.agent.trace.span";
+	/**
+	 * 未采样标记，保存在请求备注上，异步重新分派时沿用首次采样决策
+	 */
+	static final Object NOT_SAMPLED = new Object();
+
+	private final Span span;
+	private final Context context;
+	private final AtomicBoolean listening = new AtomicBoolean();
+	private final AtomicBoolean ended = new AtomicBoolean();
+	/**
+	 * 请求引用，结束后释放，避免持有已回收的请求
+	 */
+	private volatile Request request;
+	/**
+	 * 分派过程或异步周期中是否发生异常
+	 */
+	private volatile boolean error;
+
+	TomcatRequestSpan(Span span, Context context, Request request) {
+		this.span = span;
+		this.context = context;
+		this.request = request;
+	}
+
+	/**
+	 * 获取请求的 Span
+	 *
+	 * @param request 请求
+	 * @return Span，未采样或尚未决策的请求为 null
+	 */
+	static TomcatRequestSpan of(Request request) {
+		Object note = request.getNote(NOTE);
+		return note instanceof TomcatRequestSpan ? (TomcatRequestSpan) note : null;
+	}
+
+	/**
+	 * 包含当前 Span 的上下文，每次分派以此打开 Scope
+	 *
+	 * @return 上下文
+	 */
+	Context context() {
+		return context;
+	}
+
+	/**
+	 * 标记请求异常
+	 */
+	void markError() {
+		error = true;
+	}
+
+	/**
+	 * 分派结束：请求已进入异步模式时注册监听器等待异步周期完成，否则立即结束 Span
+	 *
+	 * @return 请求是否仍在异步处理中
+	 */
+	boolean dispatched() {
+		Request request = this.request;
+		if (request == null) {
+			return false;
+		}
+		if (request.isAsyncStarted()) {
+			if (listening.compareAndSet(false, true)) {
+				request.getAsyncContext().addListener(this);
+			}
+			return true;
+		}
+		if (!listening.get()) {
+			request.removeNote(NOTE);
+			end();
+		}
+		return listening.get();
+	}
+
+	/**
+	 * 按属性策略补充属性后结束 Span，仅执行一次
+	 */
+	private void end() {
+		Request request = this.request;
+		if (request == null || !ended.compareAndSet(false, true)) {
+			return;
+		}
+		this.request = null;
+		try {
+			TomcatAttributePolicy.current().onEnd(span, request, error || request.getResponse().getStatus() >= 500);
+		} finally {
+			span.end();
+		}
+	}
+
+	@Override
+	public void onComplete(AsyncEvent event) {
+		end();
+	}
+
+	@Override
+	public void onTimeout(AsyncEvent event) {
+		markError();
+	}
+
+	@Override
+	public void onError(AsyncEvent event) {
+		markError();
+	}
+
+	@Override
+	public void onStartAsync(AsyncEvent event) {
+		// 重新开始异步时容器会清空监听器，需重新注册
+		event.getAsyncContext().addListener(this);
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.trace.context.IHubTraceContext;
+import pub.ihub.integration.agent.trace.context.IHubTraceSampler;
+import pub.ihub.integration.agent.trace.enhancer.TomcatEnhancer;
+import pub.ihub.integration.core.Logger;
+
+import java.lang.instrument.Instrumentation;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("追踪代理测试")
+class IHubTraceAgentTest {
+
+	private static final String TOMCAT_ENHANCER = TomcatEnhancer.class.getName();
+
+	private static Instrumentation instrumentation;
+
+	@BeforeAll
+	static void installAgent() {
+		instrumentation = ByteBuddyAgent.install();
+	}
+
+	@AfterEach
+	void uninstall() {
+		IHubTraceAgent.agentmain("agent.enhancer.uninstall=" + TOMCAT_ENHANCER, instrumentation);
+		assertTrue(IHubTraceAgent.enhancerManager().getInstalled().isEmpty());
+	}
+
+	@Test
+	void attachInstallsDefaultEnhancerOnce() {
+		IHubTraceAgent.agentmain(null, instrumentation);
+		IHubTraceAgent.agentmain("", instrumentation);
+
+		assertEquals(Set.of(TOMCAT_ENHANCER), IHubTraceAgent.enhancerManager().getInstalled());
+	}
+
+	@Test
+	void uninstallOnlyInstallsNothing() {
+		IHubTraceAgent.agentmain("agent.enhancer.uninstall=pub.ihub.integration.agent.trace.MissingEnhancer", instrumentation);
+
+		assertTrue(IHubTraceAgent.enhancerManager().getInstalled().isEmpty());
+	}
+
+	@Test
+	void installWithDuration() throws InterruptedException {
+		IHubTraceAgent.agentmain("agent.enhancer.install=pub.ihub.integration.agent.trace.MissingEnhancer;" + TOMCAT_ENHANCER
+			+ ",agent.enhancer.duration=100", instrumentation);
+		assertTrue(IHubTraceAgent.enhancerManager().isInstalled(TOMCAT_ENHANCER));
+
+		for (int i = 0; i < 100 && IHubTraceAgent.enhancerManager().isInstalled(TOMCAT_ENHANCER); i++) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		assertFalse(IHubTraceAgent.enhancerManager().isInstalled(TOMCAT_ENHANCER));
+	}
+
+	@Test
+	void invalidLoggerArgumentsIgnored() {
+		try {
+			assertDoesNotThrow(() -> IHubTraceAgent.agentmain("agent.log.level=loud,agent.log.categories=pub.ihub:verbose;pub.ihub.test:info:fast,"
+				+ "agent.log.async.capacity=64,agent.log.async.overflow=spill", instrumentation));
+			assertEquals(Set.of(TOMCAT_ENHANCER), IHubTraceAgent.enhancerManager().getInstalled());
+		} finally {
+			Logger.disableAsync();
+		}
+	}
+
+	@Test
+	void attachKeepsPremainSampler() {
+		try {
+			// 触发类不会加载，代理加载时不安装切面
+			IHubTraceAgent.premain("agent.install.mode=lazy,agent.install.trigger=pub.ihub.integration.agent.trace.NeverLoaded,"
+				+ "agent.trace.sampler=ratio,agent.trace.sampler.ratio=0", instrumentation);
+			IHubTraceSampler sampler = IHubTraceContext.sampler();
+			assertFalse(sampler.sample());
+
+			IHubTraceAgent.agentmain("agent.enhancer.install=" + TOMCAT_ENHANCER, instrumentation);
+			IHubTraceAgent.agentmain("agent.enhancer.uninstall=" + TOMCAT_ENHANCER + ",agent.log.level=info", instrumentation);
+			assertSame(sampler, IHubTraceContext.sampler());
+
+			IHubTraceAgent.agentmain("agent.trace.sampler=always", instrumentation);
+			assertNotSame(sampler, IHubTraceContext.sampler());
+			assertTrue(IHubTraceContext.sampler().sample());
+		} finally {
+			IHubTraceContext.setSampler(IHubTraceSampler.always());
+		}
+	}
+
+	@Test
+	void installAndUninstallInOneAttach() {
+		IHubTraceAgent.agentmain("agent.enhancer.install=" + TOMCAT_ENHANCER, instrumentation);
+		IHubTraceAgent.agentmain("agent.enhancer.uninstall=" + TOMCAT_ENHANCER + ",agent.enhancer.install=" + TOMCAT_ENHANCER, instrumentation);
+
+		assertEquals(Set.of(TOMCAT_ENHANCER), IHubTraceAgent.enhancerManager().getInstalled());
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.context;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("头部采样测试")
+class IHubTraceSamplerTest {
+
+	private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+	private static final String SPAN_ID = "b7ad6b7169203331";
+
+	@Test
+	void followRemoteParent() {
+		SpanContext sampled = SpanContext.createFromRemoteParent(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault());
+		SpanContext unsampled = SpanContext.createFromRemoteParent(TRACE_ID, SPAN_ID, TraceFlags.getDefault(), TraceState.getDefault());
+
+		assertTrue(IHubTraceSampler.ratio(0).sample(sampled));
+		assertFalse(IHubTraceSampler.always().sample(unsampled));
+	}
+
+	@Test
+	void rootRequestUsesStrategy() {
+		assertTrue(IHubTraceSampler.always().sample(SpanContext.getInvalid()));
+		assertFalse(IHubTraceSampler.ratio(0).sample(SpanContext.getInvalid()));
+	}
+
+	@Test
+	void rateLimitAppliesToRootRequestsOnly() {
+		IHubTraceSampler sampler = IHubTraceSampler.rateLimited(1);
+		SpanContext sampled = SpanContext.createFromRemoteParent(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault());
+
+		// 跟随上游的请求不占用每秒采样数
+		for (int i = 0; i < 10; i++) {
+			assertTrue(sampler.sample(sampled));
+		}
+		assertTrue(sampler.sample(SpanContext.getInvalid()));
+		assertFalse(sampler.sample(SpanContext.getInvalid()));
+	}
+
+}
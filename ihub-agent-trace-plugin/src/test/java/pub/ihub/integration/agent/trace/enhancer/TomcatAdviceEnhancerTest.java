@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.context.Scope;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.core.StandardHostValve;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.core.IHubAspectRegistry;
+import pub.ihub.integration.agent.trace.context.IHubTraceContext;
+import pub.ihub.integration.agent.trace.context.IHubTraceSampler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("Tomcat请求追踪内联增强测试")
+class TomcatAdviceEnhancerTest {
+
+	@AfterEach
+	void resetSampler() {
+		IHubTraceContext.setSampler(IHubTraceSampler.always());
+	}
+
+	@Test
+	void inlineIntoHostValve() throws Exception {
+		TypeDescription typeDescription = TypeDescription.ForLoadedType.of(StandardHostValve.class);
+		IHubAspectRegistry registry = new IHubAspectRegistry().register(new TomcatAdviceEnhancer());
+		assertTrue(registry.typeMatcher().matches(typeDescription));
+		assertTrue(registry.isRetransformable());
+
+		Class<?> type = registry.transform(new ByteBuddy().redefine(StandardHostValve.class), typeDescription,
+				StandardHostValve.class.getClassLoader(), null, null)
+			.make()
+			.load(StandardHostValve.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+			.getLoaded();
+		IHubTraceContext.setSampler(() -> false);
+		Request request = TomcatEnhancerTest.request(new org.apache.coyote.Request());
+		Response response = mock(Response.class);
+
+		// 无上下文的请求直接返回404，内联的进入代码已记录采样决策
+		type.getMethod("invoke", Request.class, Response.class).invoke(type.getDeclaredConstructor().newInstance(), request, response);
+
+		verify(request).setNote(TomcatRequestSpan.NOTE, TomcatRequestSpan.NOT_SAMPLED);
+	}
+
+	@Test
+	void unsampledRequestSkipped() {
+		IHubTraceContext.setSampler(() -> false);
+		Request request = TomcatEnhancerTest.request(new org.apache.coyote.Request());
+
+		assertNull(TomcatAdviceEnhancer.onEnter(request));
+		assertDoesNotThrow(() -> TomcatAdviceEnhancer.onExit(request, null, new IllegalStateException()));
+		verify(request, never()).getResponse();
+	}
+
+	@Test
+	void exitClosesScope() {
+		Request request = mock(Request.class);
+		Scope scope = mock(Scope.class);
+
+		TomcatAdviceEnhancer.onExit(request, scope, new IllegalStateException());
+
+		verify(scope).close();
+	}
+
+}
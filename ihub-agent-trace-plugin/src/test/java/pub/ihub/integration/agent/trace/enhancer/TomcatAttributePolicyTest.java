@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.apache.catalina.connector.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.core.IHubAgentArguments;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("Tomcat请求Span属性策略测试")
+class TomcatAttributePolicyTest {
+
+	private final Tracer tracer = SdkTracerProvider.builder().build().get("test");
+
+	private Request request;
+
+	@BeforeEach
+	void setUp() {
+		request = mock(Request.class);
+		when(request.getMethod()).thenReturn("GET");
+		when(request.getRequestURI()).thenReturn("/test");
+		when(request.getRequestURL()).thenReturn(new StringBuffer("http://localhost/test"));
+		when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+		when(request.getRemotePort()).thenReturn(8080);
+		when(request.getRemoteUser()).thenReturn("henry");
+		when(request.getRemoteHost()).thenReturn("localhost");
+	}
+
+	@AfterEach
+	void reset() {
+		TomcatAttributePolicy.configure(IHubAgentArguments.parse(null));
+	}
+
+	@Test
+	void defaultPolicy() {
+		ReadableSpan span = start();
+
+		assertEquals("GET", span.getAttribute(TomcatAttributePolicy.METHOD));
+		assertEquals("/test", span.getAttribute(TomcatAttributePolicy.URI));
+		assertEquals("127.0.0.1", span.getAttribute(TomcatAttributePolicy.REMOTE_ADDR));
+		assertEquals(8080L, span.getAttribute(TomcatAttributePolicy.REMOTE_PORT));
+		assertEquals("Tomcat", span.getAttribute(TomcatAttributePolicy.COMPONENT));
+		assertNull(span.getAttribute(TomcatAttributePolicy.URL));
+		assertNull(span.getAttribute(TomcatAttributePolicy.REMOTE_USER));
+
+		// 快速且正常的请求不采集延迟属性
+		TomcatAttributePolicy.current().onEnd((Span) span, request, false);
+		assertNull(span.getAttribute(TomcatAttributePolicy.URL));
+		verify(request, never()).getRequestURL();
+
+		TomcatAttributePolicy.current().onEnd((Span) span, request, true);
+		assertEquals("http://localhost/test", span.getAttribute(TomcatAttributePolicy.URL));
+		assertEquals("henry", span.getAttribute(TomcatAttributePolicy.REMOTE_USER));
+		assertNull(span.getAttribute(TomcatAttributePolicy.REMOTE_HOST));
+		verify(request, never()).getRemoteHost();
+	}
+
+	@Test
+	void alwaysCapture() {
+		TomcatAttributePolicy.configure(IHubAgentArguments.parse("agent.trace.attribute.url=always,agent.trace.attribute.remote-host=always"));
+
+		ReadableSpan span = start();
+
+		assertEquals("http://localhost/test", span.getAttribute(TomcatAttributePolicy.URL));
+		assertEquals("localhost", span.getAttribute(TomcatAttributePolicy.REMOTE_HOST));
+		assertNull(span.getAttribute(TomcatAttributePolicy.REMOTE_USER));
+	}
+
+	@Test
+	void neverCapture() {
+		TomcatAttributePolicy.configure(IHubAgentArguments.parse("agent.trace.attribute.url=never,agent.trace.attribute.remote-user=never"));
+
+		ReadableSpan span = start();
+		TomcatAttributePolicy.current().onEnd((Span) span, request, true);
+
+		assertNull(span.getAttribute(TomcatAttributePolicy.URL));
+		assertNull(span.getAttribute(TomcatAttributePolicy.REMOTE_USER));
+		verify(request, never()).getRequestURL();
+		verify(request, never()).getRemoteUser();
+	}
+
+	@Test
+	void slowRequestCapture() {
+		TomcatAttributePolicy.configure(IHubAgentArguments.parse("agent.trace.attribute.slow-threshold=0"));
+
+		ReadableSpan span = start();
+		TomcatAttributePolicy.current().onEnd((Span) span, request, false);
+
+		assertEquals("http://localhost/test", span.getAttribute(TomcatAttributePolicy.URL));
+	}
+
+	@Test
+	void unknownCaptureUsesDefault() {
+		TomcatAttributePolicy.configure(IHubAgentArguments.parse("agent.trace.attribute.url=sometimes"));
+
+		ReadableSpan span = start();
+		assertNull(span.getAttribute(TomcatAttributePolicy.URL));
+
+		TomcatAttributePolicy.current().onEnd((Span) span, request, true);
+		assertEquals("http://localhost/test", span.getAttribute(TomcatAttributePolicy.URL));
+	}
+
+	private ReadableSpan start() {
+		SpanBuilder builder = tracer.spanBuilder("GET /test");
+		TomcatAttributePolicy.current().onStart(builder, request);
+		return (ReadableSpan) builder.startSpan();
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.context.Scope;
+import org.apache.catalina.connector.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.core.MethodDescriptor;
+import pub.ihub.integration.agent.core.MethodInvocationContext;
+import pub.ihub.integration.agent.trace.context.IHubTraceContext;
+import pub.ihub.integration.agent.trace.context.IHubTraceSampler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("Tomcat请求追踪增强测试")
+class TomcatEnhancerTest {
+
+	private final TomcatEnhancer enhancer = new TomcatEnhancer();
+
+	@AfterEach
+	void resetSampler() {
+		IHubTraceContext.setSampler(IHubTraceSampler.always());
+	}
+
+	@Test
+	void unsampledRequestSampledOnce() throws Throwable {
+		AtomicInteger samples = new AtomicInteger();
+		IHubTraceContext.setSampler(() -> {
+			samples.incrementAndGet();
+			return false;
+		});
+		Map<String, Object> notes = new HashMap<>();
+		Request request = request(new org.apache.coyote.Request());
+		when(request.getNote(anyString())).thenAnswer(invocation -> notes.get(invocation.<String>getArgument(0)));
+		doAnswer(invocation -> notes.put(invocation.getArgument(0), invocation.getArgument(1)))
+			.when(request).setNote(anyString(), any());
+		MethodDescriptor method = mock(MethodDescriptor.class);
+		Object[] arguments = {request, null};
+
+		// 首次分派与异步重新分派
+		for (int i = 0; i < 3; i++) {
+			MethodInvocationContext context = mock(MethodInvocationContext.class);
+			enhancer.beforeMethod(null, method, arguments, null, context);
+			assertNull(enhancer.afterMethod(null, method, arguments, null, null, context));
+			verify(context, never()).setAttachment(any());
+		}
+		assertEquals(1, samples.get());
+		assertNull(TomcatRequestSpan.of(request));
+
+		// 请求回收后重新决策
+		notes.clear();
+		enhancer.beforeMethod(null, method, arguments, null, mock(MethodInvocationContext.class));
+		assertEquals(2, samples.get());
+	}
+
+	@Test
+	void unsampledUpstreamFollowed() throws Throwable {
+		AtomicInteger samples = new AtomicInteger();
+		IHubTraceContext.setSampler(() -> samples.incrementAndGet() > 0);
+		org.apache.coyote.Request coyoteRequest = new org.apache.coyote.Request();
+		coyoteRequest.getMimeHeaders().addValue("traceparent").setString("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00");
+		Request request = request(coyoteRequest);
+		MethodInvocationContext context = mock(MethodInvocationContext.class);
+
+		enhancer.beforeMethod(null, mock(MethodDescriptor.class), new Object[]{request, null}, null, context);
+
+		assertEquals(0, samples.get());
+		verify(request).setNote(TomcatRequestSpan.NOTE, TomcatRequestSpan.NOT_SAMPLED);
+		verify(context, never()).setAttachment(any());
+	}
+
+	@Test
+	void recycledRequestIgnored() throws Throwable {
+		Request request = mock(Request.class);
+		Scope scope = mock(Scope.class);
+		MethodDescriptor method = mock(MethodDescriptor.class);
+		MethodInvocationContext context = mock(MethodInvocationContext.class);
+		when(context.getAttachment()).thenReturn(scope);
+		Object[] arguments = {request, null};
+
+		assertDoesNotThrow(() -> enhancer.handleMethodException(null, method, arguments, null, new IllegalStateException(), context));
+		assertNull(enhancer.afterMethod(null, method, arguments, null, null, context));
+		verify(scope).close();
+	}
+
+	static Request request(org.apache.coyote.Request coyoteRequest) {
+		Request request = mock(Request.class);
+		when(request.getCoyoteRequest()).thenReturn(coyoteRequest);
+		return request;
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import org.apache.catalina.connector.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("Tomcat请求头读取器测试")
+class TomcatHeaderGetterTest {
+
+	private static final String TRACE_PARENT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+	private Request request;
+
+	@BeforeEach
+	void setUp() {
+		org.apache.coyote.Request coyoteRequest = new org.apache.coyote.Request();
+		coyoteRequest.getMimeHeaders().addValue("traceparent").setString(TRACE_PARENT);
+		coyoteRequest.getMimeHeaders().addValue("Content-Type").setString("application/x-www-form-urlencoded");
+		request = mock(Request.class);
+		when(request.getCoyoteRequest()).thenReturn(coyoteRequest);
+	}
+
+	@Test
+	void get() {
+		assertEquals(TRACE_PARENT, TomcatHeaderGetter.INSTANCE.get(request, "traceparent"));
+		assertEquals(TRACE_PARENT, TomcatHeaderGetter.INSTANCE.get(request, "TraceParent"));
+		assertNull(TomcatHeaderGetter.INSTANCE.get(request, "tracestate"));
+		assertNull(TomcatHeaderGetter.INSTANCE.get(null, "traceparent"));
+		verify(request, never()).getParameter(anyString());
+	}
+
+	@Test
+	void keys() {
+		List<String> keys = new ArrayList<>();
+		TomcatHeaderGetter.INSTANCE.keys(request).forEach(keys::add);
+
+		assertEquals(List.of("traceparent", "Content-Type"), keys);
+		assertFalse(TomcatHeaderGetter.INSTANCE.keys(null).iterator().hasNext());
+	}
+
+	@Test
+	void extract() {
+		Context context = W3CTraceContextPropagator.getInstance().extract(Context.root(), request, TomcatHeaderGetter.INSTANCE);
+		SpanContext spanContext = Span.fromContext(context).getSpanContext();
+
+		assertTrue(spanContext.isRemote());
+		assertEquals("0af7651916cd43dd8448eb211c80319c", spanContext.getTraceId());
+		assertEquals("b7ad6b7169203331", spanContext.getSpanId());
+		verify(request, never()).getParameter(anyString());
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.agent.trace.enhancer;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.agent.core.IHubAgentArguments;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("Tomcat请求Span测试")
+class TomcatRequestSpanTest {
+
+	private final List<ReadableSpan> ended = new CopyOnWriteArrayList<>();
+	private final Tracer tracer = SdkTracerProvider.builder().addSpanProcessor(new SpanProcessor() {
+
+		@Override
+		public void onStart(Context parentContext, ReadWriteSpan span) {
+		}
+
+		@Override
+		public boolean isStartRequired() {
+			return false;
+		}
+
+		@Override
+		public void onEnd(ReadableSpan span) {
+			ended.add(span);
+		}
+
+		@Override
+		public boolean isEndRequired() {
+			return true;
+		}
+
+	}).build().get("test");
+
+	private Request request;
+	private Response response;
+	private AsyncContext asyncContext;
+
+	@BeforeEach
+	void setUp() {
+		request = mock(Request.class);
+		response = mock(Response.class);
+		asyncContext = mock(AsyncContext.class);
+		when(request.getResponse()).thenReturn(response);
+		when(request.getAsyncContext()).thenReturn(asyncContext);
+		when(request.getRequestURL()).thenReturn(new StringBuffer("http://localhost/test"));
+		when(response.getStatus()).thenReturn(200);
+	}
+
+	@AfterEach
+	void resetPolicy() {
+		TomcatAttributePolicy.configure(IHubAgentArguments.parse(null));
+	}
+
+	@Test
+	void syncDispatchEndsSpan() {
+		TomcatRequestSpan requestSpan = requestSpan();
+
+		assertFalse(requestSpan.dispatched());
+		assertEquals(1, ended.size());
+		assertNull(ended.get(0).getAttribute(TomcatAttributePolicy.URL));
+		verify(request).removeNote(TomcatRequestSpan.NOTE);
+		verify(request, never()).getAsyncContext();
+
+		// 结束后再次分派不会重复结束
+		assertFalse(requestSpan.dispatched());
+		assertEquals(1, ended.size());
+	}
+
+	@Test
+	void asyncEndsOnComplete() {
+		TomcatRequestSpan requestSpan = requestSpan();
+		when(request.isAsyncStarted()).thenReturn(true);
+
+		assertTrue(requestSpan.dispatched());
+		assertTrue(requestSpan.dispatched());
+		verify(asyncContext).addListener(requestSpan);
+
+		// 异步重新分派结束时请求已不在异步模式，仍等待异步周期完成
+		when(request.isAsyncStarted()).thenReturn(false);
+		assertTrue(requestSpan.dispatched());
+		assertTrue(ended.isEmpty());
+		verify(request, never()).removeNote(TomcatRequestSpan.NOTE);
+
+		requestSpan.onComplete(new AsyncEvent(asyncContext));
+		requestSpan.onComplete(new AsyncEvent(asyncContext));
+		assertEquals(1, ended.size());
+	}
+
+	@Test
+	void restartAsyncRegistersListenerAgain() {
+		TomcatRequestSpan requestSpan = requestSpan();
+		AsyncContext restarted = mock(AsyncContext.class);
+
+		requestSpan.onStartAsync(new AsyncEvent(restarted));
+
+		verify(restarted).addListener(requestSpan);
+	}
+
+	@Test
+	void errorCapturesDeferredAttributes() {
+		TomcatRequestSpan requestSpan = requestSpan();
+		requestSpan.markError();
+
+		requestSpan.dispatched();
+
+		assertEquals("http://localhost/test", ended.get(0).getAttribute(TomcatAttributePolicy.URL));
+	}
+
+	@Test
+	void asyncTimeoutCapturesDeferredAttributes() {
+		TomcatRequestSpan requestSpan = requestSpan();
+		when(request.isAsyncStarted()).thenReturn(true);
+		requestSpan.dispatched();
+
+		requestSpan.onTimeout(new AsyncEvent(asyncContext));
+		requestSpan.onComplete(new AsyncEvent(asyncContext));
+
+		assertEquals("http://localhost/test", ended.get(0).getAttribute(TomcatAttributePolicy.URL));
+	}
+
+	@Test
+	void serverErrorStatusCapturesDeferredAttributes() {
+		TomcatRequestSpan requestSpan = requestSpan();
+		when(response.getStatus()).thenReturn(500);
+
+		requestSpan.dispatched();
+
+		assertEquals("http://localhost/test", ended.get(0).getAttribute(TomcatAttributePolicy.URL));
+	}
+
+	private TomcatRequestSpan requestSpan() {
+		Span span = tracer.spanBuilder("GET /test").startSpan();
+		return new TomcatRequestSpan(span, Context.root().with(span), request);
+	}
+
+}
@@ -15,6 +15,11 @@
  */
 description = "核心组件"
 
+// JMH 基准测试位于 src/jmh/java，通过 ./gradlew :ihub-core:jmh 运行
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
 dependencies {
     compileOnly("org.springframework.boot:spring-boot")
     api("cn.hutool:hutool-core")
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志格式化基准测试
+ * <p>
+ * 对比原 logMessage 的 SimpleDateFormat + String.format 格式化与预解析模板、线程复用缓冲区的格式化，
+ * 两者均只生成日志行而不输出。配合 -prof gc 可观察每次调用的分配字节数。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoggerFormatBenchmark {
+
+	private static final String FORMAT = "[trace]beforeMethod(), method = %s.%s, status = %d";
+	private static final LogTemplate TEMPLATE = LogTemplate.of(FORMAT);
+
+	private final Object[] args = {"org.apache.catalina.core.StandardHostValve", "invoke", 200};
+
+	@Benchmark
+	public String legacy() {
+		String threadName = Thread.currentThread().getName();
+
+		Date nowTime = new Date(System.currentTimeMillis());
+		SimpleDateFormat sdFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+		String strTime = sdFormatter.format(nowTime);
+
+		String msg = String.format(FORMAT, args);
+		return String.format("[%s][%s][%s] %s", strTime, threadName, Logger.Level.INFO.levelStr, msg);
+	}
+
+	@Benchmark
+	public int template() {
+		return LogFormatter.format(Logger.Level.INFO, null, TEMPLATE, args).length();
+	}
+
+	@Benchmark
+	public int cachedFormat() {
+		return LogFormatter.format(Logger.Level.INFO, null, LogTemplate.cached(FORMAT), args).length();
+	}
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志输出
+ * <p>
+ * 生产者将日志写入有界无锁环形队列，由单个后台线程批量取出并写入通道，日志调用方不再同步等待输出。
+ * 队列满时按溢出策略丢弃或阻塞，丢弃的日志数量可通过 {@link #getDroppedCount()} 获取。
+ * 每个槽位复用一个 {@link StringBuilder}，日志写入时复制至槽位，调用方可复用自身的缓冲区。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class AsyncLogAppender implements AutoCloseable {
+
+	/**
+	 * 消费线程空闲时的最长等待时间
+	 */
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	/**
+	 * 生产者阻塞时的等待时间
+	 */
+	private static final long BLOCK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+	/**
+	 * 槽位缓冲区的初始容量，超出上限的槽位在取出后重建以释放内存
+	 */
+	private static final int SLOT_CAPACITY = 256;
+	private static final int SLOT_CAPACITY_LIMIT = 16 * 1024;
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/**
+	 * 日志槽位
+	 */
+	private final StringBuilder[] buffer;
+	/**
+	 * 槽位序号，等于写入位置 + 1 时槽位可读，等于写入位置时槽位可写
+	 */
+	private final AtomicLongArray sequences;
+	private final int mask;
+	/**
+	 * 下一个写入位置
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	/**
+	 * 下一个读取位置，仅消费线程访问
+	 */
+	private long head;
+
+	private final OverflowPolicy overflowPolicy;
+	private final WritableByteChannel channel;
+	private final ByteBuffer output;
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+	/**
+	 * 编码用的字符缓冲区，仅消费线程访问
+	 */
+	private char[] chars = new char[SLOT_CAPACITY];
+	private CharBuffer charBuffer = CharBuffer.wrap(chars);
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final Thread worker;
+	private volatile boolean sleeping;
+	private volatile boolean running = true;
+	/**
+	 * 关闭时最后写出的位置，此后写入队列的日志不再写出，计入丢弃；未关闭时为 -1
+	 */
+	private volatile long closedHead = -1;
+
+	/**
+	 * 输出至标准输出的异步日志
+	 *
+	 * @param capacity       队列容量，向上取整为 2 的幂
+	 * @param overflowPolicy 溢出策略
+	 */
+	public AsyncLogAppender(int capacity, OverflowPolicy overflowPolicy) {
+		this(capacity, overflowPolicy, Channels.newChannel(new FileOutputStream(FileDescriptor.out)), 64 * 1024);
+	}
+
+	/**
+	 * 异步日志
+	 *
+	 * @param capacity       队列容量，向上取整为 2 的幂
+	 * @param overflowPolicy 溢出策略
+	 * @param channel        输出通道
+	 * @param batchBytes     批量写入的缓冲区大小
+	 */
+	public AsyncLogAppender(int capacity, OverflowPolicy overflowPolicy, WritableByteChannel channel, int batchBytes) {
+		if (capacity < 2 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("capacity must be between 2 and 2^30: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.buffer = new StringBuilder[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		this.mask = size - 1;
+		this.overflowPolicy = overflowPolicy;
+		this.channel = channel;
+		this.output = ByteBuffer.allocateDirect(batchBytes);
+		this.worker = new Thread(this::drainLoop, "ihub-logger");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * 追加日志
+	 *
+	 * @param message 日志
+	 * @return 是否写入队列，丢弃或已关闭时为 false
+	 */
+	public boolean append(CharSequence message) {
+		while (running) {
+			if (offer(message)) {
+				if (sleeping) {
+					LockSupport.unpark(worker);
+				}
+				return true;
+			}
+			if (overflowPolicy == OverflowPolicy.DROP) {
+				break;
+			}
+			LockSupport.unpark(worker);
+			LockSupport.parkNanos(BLOCK_NANOS);
+		}
+		dropped.increment();
+		return false;
+	}
+
+	private boolean offer(CharSequence message) {
+		long position = tail.get();
+		while (true) {
+			int index = (int) (position & mask);
+			long diff = sequences.getAcquire(index) - position;
+			if (diff == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					StringBuilder slot = buffer[index];
+					if (slot == null) {
+						slot = new StringBuilder(Math.max(SLOT_CAPACITY, message.length()));
+						buffer[index] = slot;
+					}
+					slot.setLength(0);
+					slot.append(message);
+					sequences.setRelease(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (diff < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * 取出一条日志至字符缓冲区
+	 *
+	 * @return 是否取出
+	 */
+	private boolean poll() {
+		int index = (int) (head & mask);
+		if (sequences.getAcquire(index) != head + 1) {
+			return false;
+		}
+		StringBuilder slot = buffer[index];
+		int length = slot.length();
+		if (chars.length < length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+			charBuffer = CharBuffer.wrap(chars);
+		}
+		slot.getChars(0, length, chars, 0);
+		charBuffer.clear().limit(length);
+		if (slot.capacity() > SLOT_CAPACITY_LIMIT) {
+			buffer[index] = null;
+		}
+		sequences.setRelease(index, head + buffer.length);
+		head++;
+		return true;
+	}
+
+	private void drainLoop() {
+		while (true) {
+			boolean stopping = !running;
+			int count = drain();
+			if (count == 0) {
+				if (stopping) {
+					return;
+				}
+				sleeping = true;
+				if (tail.get() == head) {
+					LockSupport.parkNanos(this, IDLE_NANOS);
+				}
+				sleeping = false;
+			}
+		}
+	}
+
+	/**
+	 * 取出队列中的日志并批量写入通道
+	 *
+	 * @return 写入的日志数量
+	 */
+	private int drain() {
+		int count = 0;
+		try {
+			while (poll()) {
+				encode(charBuffer);
+				charBuffer.clear();
+				charBuffer.append(LINE_SEPARATOR).flip();
+				encode(charBuffer);
+				count++;
+			}
+			writeOutput();
+			written.add(count);
+		} catch (IOException e) {
+			output.clear();
+			encoder.reset();
+			// 写出失败的批次整体计入丢弃
+			dropped.add(count);
+			System.err.println("[ihub-logger] write failed: " + e.getMessage());
+		}
+		return count;
+	}
+
+	private void encode(CharBuffer chars) throws IOException {
+		while (true) {
+			CoderResult result = encoder.encode(chars, output, true);
+			if (result.isOverflow()) {
+				writeOutput();
+			} else {
+				encoder.reset();
+				return;
+			}
+		}
+	}
+
+	private void writeOutput() throws IOException {
+		output.flip();
+		while (output.hasRemaining()) {
+			channel.write(output);
+		}
+		output.clear();
+	}
+
+	/**
+	 * 因队列溢出、写出失败或已关闭而丢弃的日志数量
+	 *
+	 * @return 丢弃数量
+	 */
+	public long getDroppedCount() {
+		long closed = closedHead;
+		return dropped.sum() + (closed < 0 ? 0 : tail.get() - closed);
+	}
+
+	/**
+	 * 已写入通道的日志数量
+	 *
+	 * @return 写入数量
+	 */
+	public long getWrittenCount() {
+		return written.sum();
+	}
+
+	/**
+	 * 停止接收日志，写出队列中剩余的日志后结束消费线程
+	 * <p>
+	 * 消费线程结束后，由关闭线程写出在其最后一次取出后才写入队列的日志；仍未写出的日志计入丢弃。
+	 */
+	@Override
+	public synchronized void close() {
+		running = false;
+		LockSupport.unpark(worker);
+		try {
+			worker.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (worker.isAlive()) {
+			return;
+		}
+		drain();
+		closedHead = head;
+	}
+
+	/**
+	 * 溢出策略
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * 丢弃新日志
+		 */
+		DROP,
+		/**
+		 * 阻塞直至队列有空位
+		 */
+		BLOCK
+
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+/**
+ * 日志格式化
+ * <p>
+ * 每个线程复用一个 {@link StringBuilder} 与时间戳缓存，时间戳按毫秒缓存、日期时间部分按秒重算，
+ * 稳态下格式化日志行不产生额外对象。格式为 [yyyy-MM-dd HH:mm:ss.SSS][线程名][级别] 消息，命名日志在级别后附加 [名称]。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+final class LogFormatter {
+
+	private static final ThreadLocal<LogFormatter> FORMATTERS = ThreadLocal.withInitial(LogFormatter::new);
+
+	private final StringBuilder builder = new StringBuilder(256);
+	private final char[] timestamp = "0000-00-00 00:00:00.000".toCharArray();
+	private long cachedSecond = Long.MIN_VALUE;
+	private long cachedMillis = Long.MIN_VALUE;
+	/**
+	 * 是否正在格式化，参数的 toString 中再次记录日志时不复用 builder
+	 */
+	private boolean formatting;
+
+	private LogFormatter() {
+	}
+
+	/**
+	 * 按模板格式化日志行
+	 *
+	 * @param level    日志级别
+	 * @param name     日志名称，根日志为 null
+	 * @param template 日志模板
+	 * @param args     参数
+	 * @return 日志行，仅在当前线程下一次格式化前有效
+	 */
+	static StringBuilder format(Logger.Level level, String name, LogTemplate template, Object[] args) {
+		LogFormatter formatter = FORMATTERS.get();
+		boolean nested = formatter.formatting;
+		StringBuilder builder = formatter.begin(level, name, nested);
+		formatter.formatting = true;
+		try {
+			template.appendTo(builder, args);
+		} finally {
+			formatter.formatting = nested;
+		}
+		return builder;
+	}
+
+	/**
+	 * 按模板格式化固定数量参数的日志行
+	 *
+	 * @param level    日志级别
+	 * @param name     日志名称，根日志为 null
+	 * @param template 日志模板
+	 * @param count    参数数量，不超过 4
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 * @return 日志行，仅在当前线程下一次格式化前有效
+	 */
+	static StringBuilder format(Logger.Level level, String name, LogTemplate template, int count,
+								Object arg1, Object arg2, Object arg3, Object arg4) {
+		LogFormatter formatter = FORMATTERS.get();
+		boolean nested = formatter.formatting;
+		StringBuilder builder = formatter.begin(level, name, nested);
+		formatter.formatting = true;
+		try {
+			template.appendTo(builder, count, arg1, arg2, arg3, arg4);
+		} finally {
+			formatter.formatting = nested;
+		}
+		return builder;
+	}
+
+	/**
+	 * 格式化已生成消息的日志行
+	 *
+	 * @param level   日志级别
+	 * @param name    日志名称，根日志为 null
+	 * @param message 消息
+	 * @return 日志行，仅在当前线程下一次格式化前有效
+	 */
+	static StringBuilder format(Logger.Level level, String name, String message) {
+		LogFormatter formatter = FORMATTERS.get();
+		return formatter.begin(level, name, formatter.formatting).append(message);
+	}
+
+	/**
+	 * 以日志前缀开始一行，嵌套格式化时使用新的 builder
+	 */
+	private StringBuilder begin(Logger.Level level, String name, boolean nested) {
+		StringBuilder builder = nested ? new StringBuilder(256) : this.builder;
+		builder.setLength(0);
+		appendPrefix(builder, level, name);
+		return builder;
+	}
+
+	private void appendPrefix(StringBuilder builder, Logger.Level level, String name) {
+		builder.append('[');
+		appendTimestamp(builder, System.currentTimeMillis());
+		builder.append("][").append(Thread.currentThread().getName())
+			.append("][").append(level.levelStr).append(']');
+		if (name != null) {
+			builder.append('[').append(name).append(']');
+		}
+		builder.append(' ');
+	}
+
+	private void appendTimestamp(StringBuilder builder, long millis) {
+		if (millis != cachedMillis) {
+			long second = Math.floorDiv(millis, 1000);
+			if (second != cachedSecond) {
+				long offsetSeconds = TimeZone.getDefault().getOffset(millis) / 1000;
+				LocalDateTime time = LocalDateTime.ofEpochSecond(second + offsetSeconds, 0, ZoneOffset.UTC);
+				digits(time.getYear(), 0, 4);
+				digits(time.getMonthValue(), 5, 2);
+				digits(time.getDayOfMonth(), 8, 2);
+				digits(time.getHour(), 11, 2);
+				digits(time.getMinute(), 14, 2);
+				digits(time.getSecond(), 17, 2);
+				cachedSecond = second;
+			}
+			digits((int) Math.floorMod(millis, 1000), 20, 3);
+			cachedMillis = millis;
+		}
+		builder.append(timestamp);
+	}
+
+	private void digits(int value, int offset, int width) {
+		for (int i = offset + width - 1; i >= offset; i--) {
+			timestamp[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+
+}
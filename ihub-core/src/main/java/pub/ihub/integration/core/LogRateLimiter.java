@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 日志限流
+ * <p>
+ * 以一秒为窗口，每个窗口最多放行指定数量的日志，超出的日志计入抑制数量，由下一窗口放行的首条日志取走并汇总输出。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+final class LogRateLimiter {
+
+	private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final int permitsPerSecond;
+	private final AtomicLong windowStart;
+	private final AtomicInteger permits = new AtomicInteger();
+	private final AtomicLong suppressed = new AtomicLong();
+
+	LogRateLimiter(int permitsPerSecond) {
+		this.permitsPerSecond = permitsPerSecond;
+		this.windowStart = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * 申请输出一条日志
+	 *
+	 * @return 被拒绝时为 -1，否则为此前累计被抑制、尚未汇总的日志数量
+	 */
+	long acquire() {
+		long now = System.nanoTime();
+		long start = windowStart.get();
+		if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+			permits.set(0);
+		}
+		if (permits.incrementAndGet() > permitsPerSecond) {
+			suppressed.incrementAndGet();
+			return -1;
+		}
+		return suppressed.get() == 0 ? 0 : suppressed.getAndSet(0);
+	}
+
+	/**
+	 * 每秒放行数量
+	 *
+	 * @return 每秒放行数量
+	 */
+	int getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预解析的日志模板
+ * <p>
+ * 仅支持 %s、%d 占位符与 %% 转义，参数直接追加至 {@link StringBuilder}，字符串与整数参数不产生额外对象。
+ * 调用处可持有静态模板，{@link Logger} 的字符串格式也按格式缓存解析结果。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class LogTemplate {
+
+	/**
+	 * 格式缓存的上限，超出后不再缓存
+	 */
+	private static final int CACHE_LIMIT = 1024;
+	/**
+	 * 不支持的格式
+	 */
+	private static final LogTemplate UNSUPPORTED = new LogTemplate(new String[0]);
+	private static final Map<String, LogTemplate> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * 占位符之间的文本，数量为占位符数量 + 1
+	 */
+	private final String[] literals;
+
+	private LogTemplate(String[] literals) {
+		this.literals = literals;
+	}
+
+	/**
+	 * 解析日志模板
+	 *
+	 * @param pattern 格式
+	 * @return 日志模板
+	 * @throws IllegalArgumentException 含有 %s、%d、%% 以外的格式说明符
+	 */
+	public static LogTemplate of(String pattern) {
+		LogTemplate template = parse(pattern);
+		if (template == UNSUPPORTED) {
+			throw new IllegalArgumentException("unsupported log pattern: " + pattern);
+		}
+		return template;
+	}
+
+	/**
+	 * 获取缓存的日志模板
+	 *
+	 * @param pattern 格式
+	 * @return 日志模板，格式不受支持时为 null
+	 */
+	static LogTemplate cached(String pattern) {
+		LogTemplate template = CACHE.get(pattern);
+		if (template == null) {
+			template = parse(pattern);
+			if (CACHE.size() < CACHE_LIMIT) {
+				CACHE.putIfAbsent(pattern, template);
+			}
+		}
+		return template == UNSUPPORTED ? null : template;
+	}
+
+	private static LogTemplate parse(String pattern) {
+		List<String> literals = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c != '%') {
+				literal.append(c);
+				continue;
+			}
+			char next = ++i < pattern.length() ? pattern.charAt(i) : 0;
+			if (next == '%') {
+				literal.append('%');
+			} else if (next == 's' || next == 'd') {
+				literals.add(literal.toString());
+				literal.setLength(0);
+			} else {
+				return UNSUPPORTED;
+			}
+		}
+		literals.add(literal.toString());
+		return new LogTemplate(literals.toArray(new String[0]));
+	}
+
+	/**
+	 * 占位符数量
+	 *
+	 * @return 占位符数量
+	 */
+	public int getArgumentCount() {
+		return literals.length - 1;
+	}
+
+	/**
+	 * 按模板追加参数，多余参数忽略，缺少的参数保留占位符
+	 *
+	 * @param builder 目标
+	 * @param args    参数
+	 */
+	void appendTo(StringBuilder builder, Object[] args) {
+		builder.append(literals[0]);
+		for (int i = 1; i < literals.length; i++) {
+			if (args != null && i <= args.length) {
+				appendArgument(builder, args[i - 1]);
+			} else {
+				builder.append("%s");
+			}
+			builder.append(literals[i]);
+		}
+	}
+
+	/**
+	 * 按模板追加固定数量的参数，避免分配参数数组
+	 *
+	 * @param builder 目标
+	 * @param count   参数数量，不超过 4
+	 * @param arg1    参数1
+	 * @param arg2    参数2
+	 * @param arg3    参数3
+	 * @param arg4    参数4
+	 */
+	void appendTo(StringBuilder builder, int count, Object arg1, Object arg2, Object arg3, Object arg4) {
+		builder.append(literals[0]);
+		for (int i = 1; i < literals.length; i++) {
+			if (i <= count) {
+				appendArgument(builder, i == 1 ? arg1 : i == 2 ? arg2 : i == 3 ? arg3 : arg4);
+			} else {
+				builder.append("%s");
+			}
+			builder.append(literals[i]);
+		}
+	}
+
+	private static void appendArgument(StringBuilder builder, Object arg) {
+		if (arg instanceof CharSequence) {
+			builder.append((CharSequence) arg);
+		} else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+			builder.append(((Number) arg).longValue());
+		} else if (arg instanceof Boolean) {
+			builder.append(((Boolean) arg).booleanValue());
+		} else if (arg instanceof Character) {
+			builder.append(((Character) arg).charValue());
+		} else {
+			builder.append(arg);
+		}
+	}
+
+}
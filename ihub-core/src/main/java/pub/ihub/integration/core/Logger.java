@@ -17,9 +17,10 @@ package pub.ihub.integration.core;
 
 import lombok.RequiredArgsConstructor;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.function.Predicate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import static pub.ihub.integration.core.Logger.Level.*;
 
@@ -33,15 +34,190 @@ public final class Logger {
 	/**
 	 * 日志级别
 	 */
-	private static Level LEVEL = INFO;
+	private static volatile Level LEVEL = INFO;
+	/**
+	 * 异步日志输出，未启用时同步输出至标准输出
+	 */
+	private static volatile AsyncLogAppender APPENDER;
+	/**
+	 * 是否已注册关闭钩子
+	 */
+	private static boolean shutdownHookRegistered;
+	/**
+	 * 异常日志模板
+	 */
+	private static final LogTemplate ERROR_TEMPLATE = LogTemplate.of("%s error: [%s]");
+	/**
+	 * 命名日志
+	 */
+	private static final Map<String, NamedLogger> LOGGERS = new ConcurrentHashMap<>();
+	/**
+	 * 按名称前缀配置的日志级别
+	 */
+	private static final Map<String, Level> CATEGORY_LEVELS = new ConcurrentHashMap<>();
 
 	/**
 	 * 设置日志级别
 	 *
 	 * @param level 日志级别
 	 */
-	public static void setLevel(Level level) {
+	public static synchronized void setLevel(Level level) {
 		LEVEL = level;
+		refreshLevels();
+	}
+
+	/**
+	 * 设置名称前缀的日志级别，作用于该名称及以其加 . 为前缀的命名日志，最长前缀优先
+	 *
+	 * @param category 名称前缀，如类名或包名
+	 * @param level    日志级别，为 null 时移除配置
+	 */
+	public static synchronized void setLevel(String category, Level level) {
+		if (level == null) {
+			CATEGORY_LEVELS.remove(category);
+		} else {
+			CATEGORY_LEVELS.put(category, level);
+		}
+		refreshLevels();
+	}
+
+	/**
+	 * 获取命名日志，名称为类名
+	 *
+	 * @param type 类
+	 * @return 命名日志
+	 */
+	public static NamedLogger getLogger(Class<?> type) {
+		return getLogger(type.getName());
+	}
+
+	/**
+	 * 获取命名日志，同名返回同一实例
+	 *
+	 * @param name 名称
+	 * @return 命名日志
+	 */
+	public static NamedLogger getLogger(String name) {
+		NamedLogger logger = LOGGERS.get(name);
+		if (logger == null) {
+			synchronized (Logger.class) {
+				logger = LOGGERS.computeIfAbsent(name, key -> new NamedLogger(key, resolveLevel(key)));
+			}
+		}
+		return logger;
+	}
+
+	/**
+	 * 配置变更后重新计算所有命名日志的生效级别
+	 */
+	private static void refreshLevels() {
+		LOGGERS.values().forEach(logger -> logger.setEffectiveLevel(resolveLevel(logger.getName())));
+	}
+
+	/**
+	 * 按最长名称前缀查找日志级别，未配置时为全局级别
+	 *
+	 * @param name 名称
+	 * @return 日志级别
+	 */
+	private static Level resolveLevel(String name) {
+		String category = name;
+		while (true) {
+			Level level = CATEGORY_LEVELS.get(category);
+			if (level != null) {
+				return level;
+			}
+			int index = category.lastIndexOf('.');
+			if (index < 0) {
+				return LEVEL;
+			}
+			category = category.substring(0, index);
+		}
+	}
+
+	/**
+	 * 启用异步日志输出，替换并关闭已启用的异步输出
+	 *
+	 * @param capacity       队列容量
+	 * @param overflowPolicy 溢出策略
+	 */
+	public static synchronized void enableAsync(int capacity, AsyncLogAppender.OverflowPolicy overflowPolicy) {
+		AsyncLogAppender appender = new AsyncLogAppender(capacity, overflowPolicy);
+		if (!shutdownHookRegistered) {
+			Runtime.getRuntime().addShutdownHook(new Thread(Logger::disableAsync, "ihub-logger-shutdown"));
+			shutdownHookRegistered = true;
+		}
+		AsyncLogAppender previous = APPENDER;
+		APPENDER = appender;
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * 关闭异步日志输出，写出剩余日志后恢复同步输出
+	 */
+	public static synchronized void disableAsync() {
+		AsyncLogAppender appender = APPENDER;
+		APPENDER = null;
+		if (appender != null) {
+			appender.close();
+		}
+	}
+
+	/**
+	 * 异步日志输出丢弃的日志数量
+	 *
+	 * @return 丢弃数量，未启用异步输出时为 0
+	 */
+	public static long getDroppedCount() {
+		AsyncLogAppender appender = APPENDER;
+		return appender == null ? 0 : appender.getDroppedCount();
+	}
+
+	/**
+	 * 是否启用 trace 级别
+	 *
+	 * @return 是否启用
+	 */
+	public static boolean isTraceEnabled() {
+		return LEVEL.levelInt <= TRACE.levelInt;
+	}
+
+	/**
+	 * 是否启用 debug 级别
+	 *
+	 * @return 是否启用
+	 */
+	public static boolean isDebugEnabled() {
+		return LEVEL.levelInt <= DEBUG.levelInt;
+	}
+
+	/**
+	 * 是否启用 info 级别
+	 *
+	 * @return 是否启用
+	 */
+	public static boolean isInfoEnabled() {
+		return LEVEL.levelInt <= INFO.levelInt;
+	}
+
+	/**
+	 * 是否启用 warn 级别
+	 *
+	 * @return 是否启用
+	 */
+	public static boolean isWarnEnabled() {
+		return LEVEL.levelInt <= WARN.levelInt;
+	}
+
+	/**
+	 * 是否启用 error 级别
+	 *
+	 * @return 是否启用
+	 */
+	public static boolean isErrorEnabled() {
+		return LEVEL.levelInt <= ERROR.levelInt;
 	}
 
 	/**
@@ -51,7 +227,140 @@ public final class Logger {
 	 * @param args   参数
 	 */
 	public static void trace(String format, Object... args) {
-		logMessage(TRACE, Level::isTraceEnabled, format, args);
+		if (isTraceEnabled()) {
+			logMessage(TRACE, null, format, args);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public static void trace(String format, Object arg) {
+		if (isTraceEnabled()) {
+			logMessage(TRACE, null, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public static void trace(String format, Object arg1, Object arg2) {
+		if (isTraceEnabled()) {
+			logMessage(TRACE, null, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public static void trace(String format, Object arg1, Object arg2, Object arg3) {
+		if (isTraceEnabled()) {
+			logMessage(TRACE, null, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public static void trace(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isTraceEnabled()) {
+			logMessage(TRACE, null, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * trace，仅在级别启用时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public static void trace(Supplier<String> message) {
+		if (isTraceEnabled()) {
+			write(LogFormatter.format(TRACE, null, message.get()));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public static void trace(LogTemplate template, Object... args) {
+		if (isTraceEnabled()) {
+			write(LogFormatter.format(TRACE, null, template, args));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public static void trace(LogTemplate template, Object arg) {
+		if (isTraceEnabled()) {
+			write(LogFormatter.format(TRACE, null, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public static void trace(LogTemplate template, Object arg1, Object arg2) {
+		if (isTraceEnabled()) {
+			write(LogFormatter.format(TRACE, null, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public static void trace(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isTraceEnabled()) {
+			write(LogFormatter.format(TRACE, null, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public static void trace(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isTraceEnabled()) {
+			write(LogFormatter.format(TRACE, null, template, 4, arg1, arg2, arg3, arg4));
+		}
 	}
 
 	/**
@@ -61,7 +370,140 @@ public final class Logger {
 	 * @param args   参数
 	 */
 	public static void debug(String format, Object... args) {
-		logMessage(DEBUG, Level::isDebugEnabled, format, args);
+		if (isDebugEnabled()) {
+			logMessage(DEBUG, null, format, args);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public static void debug(String format, Object arg) {
+		if (isDebugEnabled()) {
+			logMessage(DEBUG, null, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public static void debug(String format, Object arg1, Object arg2) {
+		if (isDebugEnabled()) {
+			logMessage(DEBUG, null, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public static void debug(String format, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled()) {
+			logMessage(DEBUG, null, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public static void debug(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isDebugEnabled()) {
+			logMessage(DEBUG, null, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * debug，仅在级别启用时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public static void debug(Supplier<String> message) {
+		if (isDebugEnabled()) {
+			write(LogFormatter.format(DEBUG, null, message.get()));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public static void debug(LogTemplate template, Object... args) {
+		if (isDebugEnabled()) {
+			write(LogFormatter.format(DEBUG, null, template, args));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public static void debug(LogTemplate template, Object arg) {
+		if (isDebugEnabled()) {
+			write(LogFormatter.format(DEBUG, null, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public static void debug(LogTemplate template, Object arg1, Object arg2) {
+		if (isDebugEnabled()) {
+			write(LogFormatter.format(DEBUG, null, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public static void debug(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled()) {
+			write(LogFormatter.format(DEBUG, null, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public static void debug(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isDebugEnabled()) {
+			write(LogFormatter.format(DEBUG, null, template, 4, arg1, arg2, arg3, arg4));
+		}
 	}
 
 	/**
@@ -71,7 +513,140 @@ public final class Logger {
 	 * @param args   参数
 	 */
 	public static void info(String format, Object... args) {
-		logMessage(INFO, Level::isInfoEnabled, format, args);
+		if (isInfoEnabled()) {
+			logMessage(INFO, null, format, args);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public static void info(String format, Object arg) {
+		if (isInfoEnabled()) {
+			logMessage(INFO, null, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public static void info(String format, Object arg1, Object arg2) {
+		if (isInfoEnabled()) {
+			logMessage(INFO, null, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public static void info(String format, Object arg1, Object arg2, Object arg3) {
+		if (isInfoEnabled()) {
+			logMessage(INFO, null, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public static void info(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isInfoEnabled()) {
+			logMessage(INFO, null, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * info，仅在级别启用时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public static void info(Supplier<String> message) {
+		if (isInfoEnabled()) {
+			write(LogFormatter.format(INFO, null, message.get()));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public static void info(LogTemplate template, Object... args) {
+		if (isInfoEnabled()) {
+			write(LogFormatter.format(INFO, null, template, args));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public static void info(LogTemplate template, Object arg) {
+		if (isInfoEnabled()) {
+			write(LogFormatter.format(INFO, null, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public static void info(LogTemplate template, Object arg1, Object arg2) {
+		if (isInfoEnabled()) {
+			write(LogFormatter.format(INFO, null, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public static void info(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isInfoEnabled()) {
+			write(LogFormatter.format(INFO, null, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public static void info(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isInfoEnabled()) {
+			write(LogFormatter.format(INFO, null, template, 4, arg1, arg2, arg3, arg4));
+		}
 	}
 
 	/**
@@ -81,7 +656,140 @@ public final class Logger {
 	 * @param args   参数
 	 */
 	public static void warn(String format, Object... args) {
-		logMessage(WARN, Level::isWarnEnabled, format, args);
+		if (isWarnEnabled()) {
+			logMessage(WARN, null, format, args);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public static void warn(String format, Object arg) {
+		if (isWarnEnabled()) {
+			logMessage(WARN, null, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public static void warn(String format, Object arg1, Object arg2) {
+		if (isWarnEnabled()) {
+			logMessage(WARN, null, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public static void warn(String format, Object arg1, Object arg2, Object arg3) {
+		if (isWarnEnabled()) {
+			logMessage(WARN, null, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public static void warn(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isWarnEnabled()) {
+			logMessage(WARN, null, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * warn，仅在级别启用时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public static void warn(Supplier<String> message) {
+		if (isWarnEnabled()) {
+			write(LogFormatter.format(WARN, null, message.get()));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public static void warn(LogTemplate template, Object... args) {
+		if (isWarnEnabled()) {
+			write(LogFormatter.format(WARN, null, template, args));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public static void warn(LogTemplate template, Object arg) {
+		if (isWarnEnabled()) {
+			write(LogFormatter.format(WARN, null, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public static void warn(LogTemplate template, Object arg1, Object arg2) {
+		if (isWarnEnabled()) {
+			write(LogFormatter.format(WARN, null, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public static void warn(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isWarnEnabled()) {
+			write(LogFormatter.format(WARN, null, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public static void warn(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isWarnEnabled()) {
+			write(LogFormatter.format(WARN, null, template, 4, arg1, arg2, arg3, arg4));
+		}
 	}
 
 	/**
@@ -91,7 +799,140 @@ public final class Logger {
 	 * @param args   参数
 	 */
 	public static void error(String format, Object... args) {
-		logMessage(ERROR, Level::isErrorEnabled, format, args);
+		if (isErrorEnabled()) {
+			logMessage(ERROR, null, format, args);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public static void error(String format, Object arg) {
+		if (isErrorEnabled()) {
+			logMessage(ERROR, null, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public static void error(String format, Object arg1, Object arg2) {
+		if (isErrorEnabled()) {
+			logMessage(ERROR, null, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public static void error(String format, Object arg1, Object arg2, Object arg3) {
+		if (isErrorEnabled()) {
+			logMessage(ERROR, null, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public static void error(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isErrorEnabled()) {
+			logMessage(ERROR, null, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * error，仅在级别启用时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public static void error(Supplier<String> message) {
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, message.get()));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public static void error(LogTemplate template, Object... args) {
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, template, args));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public static void error(LogTemplate template, Object arg) {
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public static void error(LogTemplate template, Object arg1, Object arg2) {
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public static void error(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public static void error(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, template, 4, arg1, arg2, arg3, arg4));
+		}
 	}
 
 	/**
@@ -101,30 +942,55 @@ public final class Logger {
 	 * @param throwable 异常
 	 */
 	public static void error(String msg, Throwable throwable) {
-		logMessage(ERROR, Level::isErrorEnabled, msg + " error: [%s]", throwable.getMessage());
+		if (isErrorEnabled()) {
+			write(LogFormatter.format(ERROR, null, ERROR_TEMPLATE, 2, msg, throwable.getMessage(), null, null));
+		}
 	}
 
 	/**
 	 * 记录日志
 	 *
-	 * @param level      日志级别
-	 * @param checkLevel 检查级别
-	 * @param format     格式
-	 * @param args       参数
+	 * @param level  日志级别
+	 * @param name   日志名称，根日志为 null
+	 * @param format 格式
+	 * @param args   参数
 	 */
-	private static void logMessage(Level level, Predicate<Level> checkLevel, String format, Object... args) {
-		if (!checkLevel.test(LEVEL)) {
-			return;
-		}
-		String threadName = Thread.currentThread().getName();
+	static void logMessage(Level level, String name, String format, Object... args) {
+		LogTemplate template = LogTemplate.cached(format);
+		write(template != null ? LogFormatter.format(level, name, template, args)
+			: LogFormatter.format(level, name, String.format(format, args)));
+	}
 
-		Date nowTime = new Date(System.currentTimeMillis());
-		SimpleDateFormat sdFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-		String strTime = sdFormatter.format(nowTime);
+	/**
+	 * 记录日志
+	 *
+	 * @param level  日志级别
+	 * @param name   日志名称，根日志为 null
+	 * @param format 格式
+	 * @param count  参数数量
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	static void logMessage(Level level, String name, String format, int count, Object arg1, Object arg2, Object arg3, Object arg4) {
+		LogTemplate template = LogTemplate.cached(format);
+		write(template != null ? LogFormatter.format(level, name, template, count, arg1, arg2, arg3, arg4)
+			: LogFormatter.format(level, name, String.format(format, Arrays.copyOf(new Object[]{arg1, arg2, arg3, arg4}, count))));
+	}
 
-		String msg = String.format(format, args);
-		String info = String.format("[%s][%s][%s] %s", strTime, threadName, level.levelStr, msg);
-		System.out.println(info);
+	/**
+	 * 输出日志行
+	 *
+	 * @param line 日志行
+	 */
+	static void write(StringBuilder line) {
+		AsyncLogAppender appender = APPENDER;
+		if (appender != null) {
+			appender.append(line);
+		} else {
+			System.out.println(line);
+		}
 	}
 
 	/**
@@ -158,28 +1024,8 @@ public final class Logger {
 		 */
 		TRACE(0, "TRACE");
 
-		private final int levelInt;
-		private final String levelStr;
-
-		boolean isTraceEnabled() {
-			return this.levelInt <= TRACE.levelInt;
-		}
-
-		boolean isDebugEnabled() {
-			return this.levelInt <= DEBUG.levelInt;
-		}
-
-		boolean isInfoEnabled() {
-			return this.levelInt <= INFO.levelInt;
-		}
-
-		boolean isWarnEnabled() {
-			return this.levelInt <= WARN.levelInt;
-		}
-
-		boolean isErrorEnabled() {
-			return this.levelInt <= ERROR.levelInt;
-		}
+		final int levelInt;
+		final String levelStr;
 
 	}
 
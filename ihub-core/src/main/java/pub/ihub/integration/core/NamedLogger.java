@@ -0,0 +1,862 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import pub.ihub.integration.core.Logger.Level;
+
+import java.util.function.Supplier;
+
+import static pub.ihub.integration.core.Logger.Level.*;
+
+/**
+ * 命名日志
+ * <p>
+ * 通过 {@link Logger#getLogger(Class)} 获取，级别按名称前缀单独配置，未配置时跟随全局级别；
+ * 生效级别在配置变更时重新计算并缓存，级别判断仅需一次 volatile 读。
+ * 可设置每秒输出上限，超出的日志被抑制，并在下一秒的首条日志前输出抑制数量。
+ *
+ * @author henry
+ * @since 2026/10/18
+ */
+public final class NamedLogger {
+
+	/**
+	 * 名称
+	 */
+	private final String name;
+	/**
+	 * 生效级别
+	 */
+	private volatile int levelInt;
+	/**
+	 * 限流，未设置时为 null
+	 */
+	private volatile LogRateLimiter rateLimiter;
+
+	NamedLogger(String name, Level level) {
+		this.name = name;
+		this.levelInt = level.levelInt;
+	}
+
+	/**
+	 * 名称
+	 *
+	 * @return 名称
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 更新生效级别
+	 *
+	 * @param level 日志级别
+	 */
+	void setEffectiveLevel(Level level) {
+		this.levelInt = level.levelInt;
+	}
+
+	/**
+	 * 设置每秒输出上限
+	 *
+	 * @param permitsPerSecond 每秒输出上限，不大于0时不限流
+	 */
+	public void setRateLimit(int permitsPerSecond) {
+		this.rateLimiter = permitsPerSecond > 0 ? new LogRateLimiter(permitsPerSecond) : null;
+	}
+
+	/**
+	 * 是否启用 trace 级别
+	 *
+	 * @return 是否启用
+	 */
+	public boolean isTraceEnabled() {
+		return levelInt <= TRACE.levelInt;
+	}
+
+	/**
+	 * 是否启用 debug 级别
+	 *
+	 * @return 是否启用
+	 */
+	public boolean isDebugEnabled() {
+		return levelInt <= DEBUG.levelInt;
+	}
+
+	/**
+	 * 是否启用 info 级别
+	 *
+	 * @return 是否启用
+	 */
+	public boolean isInfoEnabled() {
+		return levelInt <= INFO.levelInt;
+	}
+
+	/**
+	 * 是否启用 warn 级别
+	 *
+	 * @return 是否启用
+	 */
+	public boolean isWarnEnabled() {
+		return levelInt <= WARN.levelInt;
+	}
+
+	/**
+	 * 是否启用 error 级别
+	 *
+	 * @return 是否启用
+	 */
+	public boolean isErrorEnabled() {
+		return levelInt <= ERROR.levelInt;
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param args   参数
+	 */
+	public void trace(String format, Object... args) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.logMessage(TRACE, name, format, args);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public void trace(String format, Object arg) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.logMessage(TRACE, name, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public void trace(String format, Object arg1, Object arg2) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.logMessage(TRACE, name, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public void trace(String format, Object arg1, Object arg2, Object arg3) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.logMessage(TRACE, name, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public void trace(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.logMessage(TRACE, name, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * trace，仅在级别启用且未被限流时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public void trace(Supplier<String> message) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.write(LogFormatter.format(TRACE, name, message.get()));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public void trace(LogTemplate template, Object... args) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.write(LogFormatter.format(TRACE, name, template, args));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public void trace(LogTemplate template, Object arg) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.write(LogFormatter.format(TRACE, name, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public void trace(LogTemplate template, Object arg1, Object arg2) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.write(LogFormatter.format(TRACE, name, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public void trace(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.write(LogFormatter.format(TRACE, name, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * trace
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public void trace(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isTraceEnabled() && acquire(TRACE)) {
+			Logger.write(LogFormatter.format(TRACE, name, template, 4, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param args   参数
+	 */
+	public void debug(String format, Object... args) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.logMessage(DEBUG, name, format, args);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public void debug(String format, Object arg) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.logMessage(DEBUG, name, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public void debug(String format, Object arg1, Object arg2) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.logMessage(DEBUG, name, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public void debug(String format, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.logMessage(DEBUG, name, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public void debug(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.logMessage(DEBUG, name, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * debug，仅在级别启用且未被限流时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public void debug(Supplier<String> message) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.write(LogFormatter.format(DEBUG, name, message.get()));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public void debug(LogTemplate template, Object... args) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.write(LogFormatter.format(DEBUG, name, template, args));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public void debug(LogTemplate template, Object arg) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.write(LogFormatter.format(DEBUG, name, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public void debug(LogTemplate template, Object arg1, Object arg2) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.write(LogFormatter.format(DEBUG, name, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public void debug(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.write(LogFormatter.format(DEBUG, name, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * debug
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public void debug(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isDebugEnabled() && acquire(DEBUG)) {
+			Logger.write(LogFormatter.format(DEBUG, name, template, 4, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param args   参数
+	 */
+	public void info(String format, Object... args) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.logMessage(INFO, name, format, args);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public void info(String format, Object arg) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.logMessage(INFO, name, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public void info(String format, Object arg1, Object arg2) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.logMessage(INFO, name, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public void info(String format, Object arg1, Object arg2, Object arg3) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.logMessage(INFO, name, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public void info(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.logMessage(INFO, name, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * info，仅在级别启用且未被限流时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public void info(Supplier<String> message) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.write(LogFormatter.format(INFO, name, message.get()));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public void info(LogTemplate template, Object... args) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.write(LogFormatter.format(INFO, name, template, args));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public void info(LogTemplate template, Object arg) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.write(LogFormatter.format(INFO, name, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public void info(LogTemplate template, Object arg1, Object arg2) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.write(LogFormatter.format(INFO, name, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public void info(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.write(LogFormatter.format(INFO, name, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * info
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public void info(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isInfoEnabled() && acquire(INFO)) {
+			Logger.write(LogFormatter.format(INFO, name, template, 4, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param args   参数
+	 */
+	public void warn(String format, Object... args) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.logMessage(WARN, name, format, args);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public void warn(String format, Object arg) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.logMessage(WARN, name, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public void warn(String format, Object arg1, Object arg2) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.logMessage(WARN, name, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public void warn(String format, Object arg1, Object arg2, Object arg3) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.logMessage(WARN, name, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public void warn(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.logMessage(WARN, name, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * warn，仅在级别启用且未被限流时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public void warn(Supplier<String> message) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.write(LogFormatter.format(WARN, name, message.get()));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public void warn(LogTemplate template, Object... args) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.write(LogFormatter.format(WARN, name, template, args));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public void warn(LogTemplate template, Object arg) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.write(LogFormatter.format(WARN, name, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public void warn(LogTemplate template, Object arg1, Object arg2) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.write(LogFormatter.format(WARN, name, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public void warn(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.write(LogFormatter.format(WARN, name, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * warn
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public void warn(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isWarnEnabled() && acquire(WARN)) {
+			Logger.write(LogFormatter.format(WARN, name, template, 4, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param args   参数
+	 */
+	public void error(String format, Object... args) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.logMessage(ERROR, name, format, args);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg    参数
+	 */
+	public void error(String format, Object arg) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.logMessage(ERROR, name, format, 1, arg, null, null, null);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 */
+	public void error(String format, Object arg1, Object arg2) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.logMessage(ERROR, name, format, 2, arg1, arg2, null, null);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 */
+	public void error(String format, Object arg1, Object arg2, Object arg3) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.logMessage(ERROR, name, format, 3, arg1, arg2, arg3, null);
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param format 格式
+	 * @param arg1   参数1
+	 * @param arg2   参数2
+	 * @param arg3   参数3
+	 * @param arg4   参数4
+	 */
+	public void error(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.logMessage(ERROR, name, format, 4, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * error，仅在级别启用且未被限流时生成消息
+	 *
+	 * @param message 消息
+	 */
+	public void error(Supplier<String> message) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.write(LogFormatter.format(ERROR, name, message.get()));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param args     参数
+	 */
+	public void error(LogTemplate template, Object... args) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.write(LogFormatter.format(ERROR, name, template, args));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg      参数
+	 */
+	public void error(LogTemplate template, Object arg) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.write(LogFormatter.format(ERROR, name, template, 1, arg, null, null, null));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 */
+	public void error(LogTemplate template, Object arg1, Object arg2) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.write(LogFormatter.format(ERROR, name, template, 2, arg1, arg2, null, null));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 */
+	public void error(LogTemplate template, Object arg1, Object arg2, Object arg3) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.write(LogFormatter.format(ERROR, name, template, 3, arg1, arg2, arg3, null));
+		}
+	}
+
+	/**
+	 * error
+	 *
+	 * @param template 预解析的日志模板
+	 * @param arg1     参数1
+	 * @param arg2     参数2
+	 * @param arg3     参数3
+	 * @param arg4     参数4
+	 */
+	public void error(LogTemplate template, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (isErrorEnabled() && acquire(ERROR)) {
+			Logger.write(LogFormatter.format(ERROR, name, template, 4, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	/**
+	 * 申请限流许可，放行时先输出此前被抑制的日志数量
+	 *
+	 * @param level 日志级别
+	 * @return 是否放行
+	 */
+	private boolean acquire(Level level) {
+		LogRateLimiter limiter = rateLimiter;
+		if (limiter == null) {
+			return true;
+		}
+		long suppressed = limiter.acquire();
+		if (suppressed < 0) {
+			return false;
+		}
+		if (suppressed > 0) {
+			Logger.logMessage(level, name, "%s messages suppressed, rate limit %s/s", 2, suppressed, limiter.getPermitsPerSecond(), null, null);
+		}
+		return true;
+	}
+
+}
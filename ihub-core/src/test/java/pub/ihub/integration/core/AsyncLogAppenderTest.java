@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("异步日志输出测试")
+class AsyncLogAppenderTest {
+
+	@Test
+	void blockKeepsEveryMessage() throws InterruptedException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AsyncLogAppender appender = new AsyncLogAppender(16, AsyncLogAppender.OverflowPolicy.BLOCK, Channels.newChannel(out), 256);
+		Thread[] producers = new Thread[4];
+		for (int p = 0; p < producers.length; p++) {
+			int producer = p;
+			producers[p] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++) {
+					assertTrue(appender.append("message " + producer + "-" + i + " 日志"));
+				}
+			});
+			producers[p].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		appender.close();
+
+		Set<String> lines = Arrays.stream(out.toString(StandardCharsets.UTF_8).split(System.lineSeparator()))
+			.collect(Collectors.toSet());
+		assertEquals(4000, lines.size());
+		assertTrue(lines.contains("message 3-999 日志"));
+		assertEquals(4000, appender.getWrittenCount());
+		assertEquals(0, appender.getDroppedCount());
+	}
+
+	@Test
+	void dropWhenFull() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		WritableByteChannel slowChannel = new WritableByteChannel() {
+
+			private final WritableByteChannel delegate = Channels.newChannel(out);
+
+			@Override
+			public int write(ByteBuffer src) throws IOException {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return delegate.write(src);
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+
+		};
+		AsyncLogAppender appender = new AsyncLogAppender(8, AsyncLogAppender.OverflowPolicy.DROP, slowChannel, 1024);
+		int accepted = 0;
+		for (int i = 0; i < 100; i++) {
+			if (appender.append("message " + i)) {
+				accepted++;
+			}
+		}
+		release.countDown();
+		appender.close();
+
+		assertTrue(appender.getDroppedCount() > 0);
+		assertEquals(100, accepted + appender.getDroppedCount());
+		assertEquals(accepted, appender.getWrittenCount());
+		assertFalse(appender.append("closed"));
+	}
+
+	@Test
+	void failedWriteCountedAsDropped() {
+		WritableByteChannel brokenChannel = new WritableByteChannel() {
+
+			@Override
+			public int write(ByteBuffer src) throws IOException {
+				throw new IOException("broken pipe");
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+
+		};
+		AsyncLogAppender appender = new AsyncLogAppender(8, AsyncLogAppender.OverflowPolicy.BLOCK, brokenChannel, 256);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(appender.append("message " + i));
+		}
+		appender.close();
+
+		assertEquals(0, appender.getWrittenCount());
+		assertEquals(5, appender.getDroppedCount());
+	}
+
+	@Test
+	void closeAccountsEveryMessage() throws InterruptedException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AsyncLogAppender appender = new AsyncLogAppender(64, AsyncLogAppender.OverflowPolicy.DROP, Channels.newChannel(out), 256);
+		Thread[] producers = new Thread[4];
+		for (int p = 0; p < producers.length; p++) {
+			int producer = p;
+			producers[p] = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					appender.append("message " + producer + "-" + i);
+				}
+			});
+			producers[p].start();
+		}
+		// 生产者仍在写入时关闭，每条日志均计入写出或丢弃
+		appender.close();
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		assertEquals(40_000, appender.getWrittenCount() + appender.getDroppedCount());
+	}
+
+	@Test
+	void loggerAsync() {
+		Logger.enableAsync(1024, AsyncLogAppender.OverflowPolicy.DROP);
+		Logger.info("async log %s", "test");
+		assertEquals(0, Logger.getDroppedCount());
+		Logger.disableAsync();
+		Logger.info("sync log %s", "test");
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("日志模板测试")
+class LogTemplateTest {
+
+	@Test
+	void appendArguments() {
+		LogTemplate template = LogTemplate.of("method = %s.%s, status = %d, 100%%");
+		assertEquals(3, template.getArgumentCount());
+		assertEquals("method = A.b, status = 200, 100%", format(template, "A", "b", 200));
+		assertEquals("method = A.null, status = true, 100%", format(template, "A", null, true, "ignored"));
+		assertEquals("method = A.%s, status = %s, 100%", format(template, "A"));
+		assertEquals(String.format("%s|%s", 1.5, 'c'), format(LogTemplate.of("%s|%s"), 1.5, 'c'));
+	}
+
+	@Test
+	void unsupportedPattern() {
+		assertThrows(IllegalArgumentException.class, () -> LogTemplate.of("%.2f"));
+		assertThrows(IllegalArgumentException.class, () -> LogTemplate.of("trailing %"));
+		assertNull(LogTemplate.cached("%05d"));
+		assertSame(LogTemplate.cached("cached %s"), LogTemplate.cached("cached %s"));
+	}
+
+	@Test
+	void formatLine() {
+		String line = LogFormatter.format(Logger.Level.WARN, null, LogTemplate.of("hello %s"), new Object[]{"world"}).toString();
+		assertTrue(line.matches("\\[\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}]\\[" + Thread.currentThread().getName() + "]\\[WARN] hello world"), line);
+	}
+
+	private static String format(LogTemplate template, Object... args) {
+		StringBuilder builder = new StringBuilder();
+		template.appendTo(builder, args);
+		return builder.toString();
+	}
+
+}
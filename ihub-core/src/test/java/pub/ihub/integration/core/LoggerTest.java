@@ -21,6 +21,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import pub.ihub.integration.core.Logger.Level;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author henry
  * @since 2024/3/30
@@ -69,4 +76,67 @@ class LoggerTest {
 		Logger.error("log error", new RuntimeException("test"));
 	}
 
+	@Test
+	void levelGuards() {
+		Logger.setLevel(Level.WARN);
+		assertFalse(Logger.isDebugEnabled());
+		assertFalse(Logger.isInfoEnabled());
+		assertTrue(Logger.isWarnEnabled());
+		assertTrue(Logger.isErrorEnabled());
+		Logger.info(() -> fail("message evaluated while disabled"));
+		Logger.warn(() -> "log warn supplier");
+		Logger.setLevel(Level.NONE);
+		assertFalse(Logger.isErrorEnabled());
+		Logger.setLevel(Level.INFO);
+	}
+
+	@Test
+	void fixedArity() {
+		Logger.setLevel(Level.INFO);
+		List<String> lines = capture(() -> {
+			Logger.info("log info %s", "test");
+			Logger.info("log info %s %s", "test", 2);
+			Logger.info("log info %s %s %s", "test", 2, 3L);
+			Logger.info("log info %s %s %s %s", "test", 2, 3L, '4');
+			Logger.info("log info %s %s %s %s %s", "test", 2, 3L, '4', true);
+			Logger.info("log info %d%% %s", 100, "done");
+			Logger.info("log info %x", 255);
+			Logger.info(LogTemplate.of("log info %s %s"), "test", 2);
+		});
+
+		assertEquals(List.of("log info test", "log info test 2", "log info test 2 3", "log info test 2 3 4",
+			"log info test 2 3 4 true", "log info 100% done", "log info ff", "log info test 2"), lines);
+	}
+
+	@Test
+	void missingArgumentKeepsPlaceholder() {
+		Logger.setLevel(Level.INFO);
+		// 与 String.format 抛出 MissingFormatArgumentException 不同，缺少的参数保留占位符
+		List<String> lines = capture(() -> {
+			Logger.info("log info %s %s", "test");
+			Logger.info("log info %s %d %s", "test", 2);
+			Logger.info(LogTemplate.of("log info %s %s %s"), "test");
+			Logger.info(LogTemplate.of("log info %s %s %s %s %s"), "test", 2, 3, 4);
+		});
+
+		assertEquals(List.of("log info test %s", "log info test 2 %s", "log info test %s %s", "log info test 2 3 4 %s"), lines);
+	}
+
+	/**
+	 * 捕获同步输出的日志消息，不含日志前缀
+	 */
+	static List<String> capture(Runnable logging) {
+		PrintStream out = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+		try {
+			logging.run();
+		} finally {
+			System.setOut(out);
+		}
+		return captured.toString(StandardCharsets.UTF_8).lines()
+			.map(line -> line.substring(line.indexOf("] ") + 2))
+			.toList();
+	}
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pub.ihub.integration.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pub.ihub.integration.core.Logger.Level;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author henry
+ * @since 2026/10/18
+ */
+@DisplayName("命名日志测试")
+class NamedLoggerTest {
+
+	private static final String CATEGORY = "pub.ihub.integration.core.test";
+
+	@AfterEach
+	void tearDown() {
+		Logger.setLevel(CATEGORY, null);
+		Logger.setLevel(CATEGORY + ".Listener", null);
+		Logger.setLevel(Level.INFO);
+	}
+
+	@Test
+	void categoryLevels() {
+		NamedLogger listener = Logger.getLogger(CATEGORY + ".Listener");
+		NamedLogger other = Logger.getLogger("pub.ihub.integration.other.Type");
+		assertSame(listener, Logger.getLogger(CATEGORY + ".Listener"));
+		assertFalse(listener.isTraceEnabled());
+
+		Logger.setLevel(CATEGORY, Level.TRACE);
+		assertTrue(listener.isTraceEnabled());
+		assertFalse(other.isDebugEnabled());
+		assertTrue(Logger.getLogger(CATEGORY + ".Created").isTraceEnabled());
+		assertFalse(Logger.getLogger(CATEGORY + "s.Sibling").isTraceEnabled());
+
+		Logger.setLevel(CATEGORY + ".Listener", Level.ERROR);
+		assertFalse(listener.isWarnEnabled());
+		assertTrue(listener.isErrorEnabled());
+
+		Logger.setLevel(CATEGORY + ".Listener", null);
+		assertTrue(listener.isTraceEnabled());
+
+		Logger.setLevel(Level.WARN);
+		assertFalse(other.isInfoEnabled());
+		assertTrue(listener.isTraceEnabled());
+	}
+
+	@Test
+	void rateLimit() {
+		NamedLogger logger = Logger.getLogger(CATEGORY + ".Limited");
+		logger.setRateLimit(3);
+		int[] evaluated = {0};
+		for (int i = 0; i < 10; i++) {
+			logger.info(() -> "limited " + ++evaluated[0]);
+		}
+		assertEquals(3, evaluated[0]);
+		logger.setRateLimit(0);
+		logger.info("unlimited %s", 1);
+	}
+
+	@Test
+	void templateOverloads() {
+		NamedLogger logger = Logger.getLogger(CATEGORY + ".Template");
+		List<String> lines = LoggerTest.capture(() -> {
+			logger.info(LogTemplate.of("template %s"), "a");
+			logger.info(LogTemplate.of("template %s %s"), "a", 2);
+			logger.info(LogTemplate.of("template %s %s %s"), "a", 2, 3L);
+			logger.warn(LogTemplate.of("template %s %s %s %s"), "a", 2, 3L, '4');
+			logger.error(LogTemplate.of("template %s %s %s %s %s"), "a", 2, 3L, '4', true);
+			logger.debug(LogTemplate.of("template %s"), "hidden");
+		});
+
+		assertEquals(List.of("template a", "template a 2", "template a 2 3", "template a 2 3 4", "template a 2 3 4 true"), lines);
+	}
+
+	@Test
+	void limiterReportsSuppressed() throws InterruptedException {
+		LogRateLimiter limiter = new LogRateLimiter(2);
+		assertEquals(0, limiter.acquire());
+		assertEquals(0, limiter.acquire());
+		assertEquals(-1, limiter.acquire());
+		assertEquals(-1, limiter.acquire());
+		Thread.sleep(1100);
+		assertEquals(2, limiter.acquire());
+		assertEquals(0, limiter.acquire());
+	}
+
+}